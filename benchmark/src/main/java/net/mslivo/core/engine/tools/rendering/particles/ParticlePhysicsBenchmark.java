@@ -0,0 +1,54 @@
+package net.mslivo.core.engine.tools.rendering.particles;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and the SIMD physics kernel.
+ * The "vector" implementation is only measured when core was built with -Pvector, otherwise the benchmark fails on setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ParticlePhysicsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int particles;
+
+    @Param({"scalar", "vector"})
+    public String implementation;
+
+    private ParticlePhysics physics;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        physics = switch (implementation) {
+            case "scalar" -> new ParticlePhysicsScalar(particles);
+            case "vector" -> ParticlePhysics.create(particles);
+            default -> throw new IllegalStateException("Unknown implementation " + implementation);
+        };
+        if (physics.vectorized != implementation.equals("vector")) {
+            throw new IllegalStateException("Vector kernel not available, build core with -Pvector");
+        }
+        for (int i = 0; i < particles; i++) {
+            Particle<Object> particle = new Particle<>();
+            particle.x = i % 640;
+            particle.y = i % 480;
+            particle.a = 1f;
+            particle.physics_index = -1;
+            physics.add(particle, (i % 7) - 3, (i % 5) - 2, 0.001f, Float.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    public void integrate(Blackhole blackhole) {
+        physics.integrate(0f, -0.1f);
+        blackhole.consume(physics.x[physics.size - 1]);
+    }
+
+}
@@ -36,6 +36,7 @@ public class MediaManager {
     private static final GlyphLayout glyphLayout = new GlyphLayout();
     private static final int DEFAULT_PAGE_WIDTH = 4096;
     private static final int DEFAULT_PAGE_HEIGHT = 4096;
+    private static final int TEXT_SIZE_CACHE_SIZE = 1024;
     private boolean loaded = false;
     private Sound[] medias_sounds = null;
     private Music[] medias_music = null;
@@ -49,6 +50,7 @@ public class MediaManager {
     private TextureAtlas textureAtlas = null;
     private ObjLoader objLoader = null;
     private G3dModelLoader g3dLoader = null;
+    private final TextSizeCache textSizeCache = new TextSizeCache(TEXT_SIZE_CACHE_SIZE);
     public MediaManager() {
         unloadAndReset();
     }
@@ -285,6 +287,7 @@ public class MediaManager {
         // Reset lists
         this.loadedMediaList.clear();
         this.loadMediaList.clear();
+        this.textSizeCache.clear();
         this.loaded = false;
         return true;
     }
@@ -433,13 +436,24 @@ public class MediaManager {
     }
 
     public int textWidth(CMediaFont font, String text) {
-        glyphLayout.setText(getCMediaFont(font), text);
+        return textSizeCache.width(textSizeEntry(font, text));
+    }
+
+    public int textWidth(CMediaFont font, String text, int start, int end) {
+        BitmapFont bitmapFont = getCMediaFont(font);
+        glyphLayout.setText(bitmapFont, text, start, end, bitmapFont.getColor(), 0, Align.left, false, null);
         return (int) glyphLayout.width;
     }
 
     public int textHeight(CMediaFont font, String text) {
+        return textSizeCache.height(textSizeEntry(font, text));
+    }
+
+    private int textSizeEntry(CMediaFont font, String text) {
+        int entry = textSizeCache.find(font, text);
+        if (entry != -1) return entry;
         glyphLayout.setText(getCMediaFont(font), text);
-        return (int) glyphLayout.height;
+        return textSizeCache.put(font, text, (int) glyphLayout.width, (int) glyphLayout.height);
     }
 
     /* ---- Shutdown ---- */
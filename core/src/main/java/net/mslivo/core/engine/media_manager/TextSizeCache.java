@@ -0,0 +1,131 @@
+package net.mslivo.core.engine.media_manager;
+
+import java.util.Arrays;
+
+/**
+ * Bounded LRU cache of text sizes keyed by (font, text).
+ * Entries are stored in parallel arrays, recency is tracked by an index linked list and the least recently used entry is replaced when full.
+ */
+class TextSizeCache {
+    private static final int NONE = -1;
+    private final int capacity;
+    private final int mask;
+    private final int[] buckets;
+    private final int[] bucketNext;
+    private final int[] hashes;
+    private final Object[] fonts;
+    private final String[] texts;
+    private final int[] widths;
+    private final int[] heights;
+    private final int[] prev;
+    private final int[] next;
+    private int head, tail, size;
+
+    TextSizeCache(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        int bucketCount = Integer.highestOneBit(this.capacity * 2 - 1) << 1;
+        this.mask = bucketCount - 1;
+        this.buckets = new int[bucketCount];
+        this.bucketNext = new int[this.capacity];
+        this.hashes = new int[this.capacity];
+        this.fonts = new Object[this.capacity];
+        this.texts = new String[this.capacity];
+        this.widths = new int[this.capacity];
+        this.heights = new int[this.capacity];
+        this.prev = new int[this.capacity];
+        this.next = new int[this.capacity];
+        clear();
+    }
+
+    /**
+     * @return entry index or -1 if not cached
+     */
+    int find(Object font, String text) {
+        int hash = hash(font, text);
+        for (int entry = buckets[hash & mask]; entry != NONE; entry = bucketNext[entry]) {
+            if (hashes[entry] == hash && fonts[entry] == font && texts[entry].equals(text)) {
+                moveToFront(entry);
+                return entry;
+            }
+        }
+        return NONE;
+    }
+
+    int put(Object font, String text, int width, int height) {
+        int entry;
+        if (size < capacity) {
+            entry = size++;
+        } else {
+            entry = tail;
+            unlinkBucket(entry);
+            unlinkList(entry);
+        }
+        int hash = hash(font, text);
+        hashes[entry] = hash;
+        fonts[entry] = font;
+        texts[entry] = text;
+        widths[entry] = width;
+        heights[entry] = height;
+        bucketNext[entry] = buckets[hash & mask];
+        buckets[hash & mask] = entry;
+        linkFront(entry);
+        return entry;
+    }
+
+    int width(int entry) {
+        return widths[entry];
+    }
+
+    int height(int entry) {
+        return heights[entry];
+    }
+
+    void clear() {
+        Arrays.fill(buckets, NONE);
+        Arrays.fill(fonts, null);
+        Arrays.fill(texts, null);
+        head = tail = NONE;
+        size = 0;
+    }
+
+    private static int hash(Object font, String text) {
+        int hash = (31 * System.identityHashCode(font)) + text.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private void unlinkBucket(int entry) {
+        int bucket = hashes[entry] & mask;
+        if (buckets[bucket] == entry) {
+            buckets[bucket] = bucketNext[entry];
+            return;
+        }
+        for (int e = buckets[bucket]; e != NONE; e = bucketNext[e]) {
+            if (bucketNext[e] == entry) {
+                bucketNext[e] = bucketNext[entry];
+                return;
+            }
+        }
+    }
+
+    private void moveToFront(int entry) {
+        if (entry == head) return;
+        unlinkList(entry);
+        linkFront(entry);
+    }
+
+    private void unlinkList(int entry) {
+        if (prev[entry] != NONE) next[prev[entry]] = next[entry];
+        else head = next[entry];
+        if (next[entry] != NONE) prev[next[entry]] = prev[entry];
+        else tail = prev[entry];
+    }
+
+    private void linkFront(int entry) {
+        prev[entry] = NONE;
+        next[entry] = head;
+        if (head != NONE) prev[head] = entry;
+        head = entry;
+        if (tail == NONE) tail = entry;
+    }
+
+}
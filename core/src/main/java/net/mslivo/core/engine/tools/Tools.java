@@ -12,11 +12,15 @@ import net.mslivo.core.engine.media_manager.media.CMedia;
 import java.io.*;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility Class
@@ -366,6 +370,38 @@ public class Tools {
             return readObjectFromFile(file, null);
         }
 
+        /**
+         * Writes GZIP compressed to a temporary file first, then moves it over the target so the target is never partially written.
+         */
+        public static void writeObjectToCompressedFile(Object data, Path file) throws Exception {
+            file = file.toAbsolutePath();
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempFile))))) {
+                    objectOutputStream.writeObject(data);
+                }
+                try {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                // no-op after a successful move, removes the partial file otherwise
+                Files.deleteIfExists(tempFile);
+            }
+        }
+
+        public static Object readObjectFromCompressedFile(Path file) throws Exception {
+            return readObjectFromCompressedFile(file, null);
+        }
+
+        public static Object readObjectFromCompressedFile(Path file, HashMap<String, String> classReplacements) throws Exception {
+            try (HackedObjectInputStream objectInputStream = new HackedObjectInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))), classReplacements)) {
+                return objectInputStream.readObject();
+            }
+        }
+
 
         public static Object readObjectFromFile(Path file, HashMap<String, String> classReplacements) throws Exception {
             try (HackedObjectInputStream objectInputStream = new HackedObjectInputStream(Files.newInputStream(file), classReplacements)) {
@@ -0,0 +1,76 @@
+package net.mslivo.core.engine.tools.concurrency.lists;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records spawn, despawn and move requests during a parallel update.
+ * Each buffer is only written by one thread at a time. Storage is reused between updates.
+ */
+public class LCommandBuffer<T> {
+    static final int SPAWN = 0, DESPAWN = 1, MOVE = 2;
+    private int[] types;
+    private final ArrayList<T> objects;
+    private final ArrayList<List<T>> targets;
+    private int size;
+
+    LCommandBuffer() {
+        this.types = new int[16];
+        this.objects = new ArrayList<>(16);
+        this.targets = new ArrayList<>(16);
+        this.size = 0;
+    }
+
+    /**
+     * Object is appended to the updated list.
+     */
+    public void spawn(T object) {
+        add(SPAWN, object, null);
+    }
+
+    /**
+     * Object is removed from the updated list.
+     */
+    public void despawn(T object) {
+        add(DESPAWN, object, null);
+    }
+
+    /**
+     * Object is removed from the updated list and appended to target.
+     */
+    public void move(T object, List<T> target) {
+        add(MOVE, object, target);
+    }
+
+    private void add(int type, T object, List<T> target) {
+        if (size == types.length) types = Arrays.copyOf(types, size * 2);
+        types[size] = type;
+        objects.add(object);
+        targets.add(target);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int type(int index) {
+        return types[index];
+    }
+
+    T object(int index) {
+        return objects.get(index);
+    }
+
+    List<T> target(int index) {
+        return targets.get(index);
+    }
+
+    void clear() {
+        // ArrayList.clear keeps the capacity
+        objects.clear();
+        targets.clear();
+        size = 0;
+    }
+}
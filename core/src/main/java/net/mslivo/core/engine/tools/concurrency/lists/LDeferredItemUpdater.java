@@ -0,0 +1,9 @@
+package net.mslivo.core.engine.tools.concurrency.lists;
+
+public interface LDeferredItemUpdater<T> {
+
+    /**
+     * Structural changes to the updated list must be recorded in commands, they are applied after the update.
+     */
+    void updateFromThread(T object, int index, LCommandBuffer<T> commands);
+}
@@ -0,0 +1,242 @@
+package net.mslivo.core.engine.tools.concurrency.lists;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel list updater backed by a reusable ForkJoinPool.
+ * Workers claim small chunks from a shared index, so threads that finish early take over remaining work.
+ * Lists up to sequentialCutoff are updated on the calling thread. No allocations per update.
+ * With a LDeferredItemUpdater structural changes are recorded per chunk and applied on the calling thread
+ * at the end of update(), in list order: removals first, then moves into their targets, then spawns.
+ */
+public class LForkJoinUpdater<T> {
+    private static final int DEFAULT_SEQUENTIAL_CUTOFF = 256;
+    private static final int CHUNKS_PER_THREAD = 8;
+    private final ForkJoinPool threadPool;
+    private final boolean ownsThreadPool;
+    private final LItemUpdater<T> lItemUpdater;
+    private final LDeferredItemUpdater<T> lDeferredItemUpdater;
+    private final ArrayList<LCommandBuffer<T>> commandBuffers;
+    private final Set<Object> removeSet;
+    private int commandBuffersUsed;
+    private final List<T> updateObjects;
+    private final RecursiveAction[] workers;
+    private final AtomicInteger nextIndex;
+    private int sequentialCutoff;
+    private int updateSize;
+    private int chunkSize;
+    private long lastUpdateNanos;
+    private long maxUpdateNanos;
+    private long totalUpdateNanos;
+    private long updates;
+    private boolean lastUpdateParallel;
+
+    public LForkJoinUpdater(List<T> updateObjects, LItemUpdater<T> lItemUpdater) {
+        this(updateObjects, lItemUpdater, DEFAULT_SEQUENTIAL_CUTOFF);
+    }
+
+    public LForkJoinUpdater(List<T> updateObjects, LItemUpdater<T> lItemUpdater, int sequentialCutoff) {
+        this(updateObjects, lItemUpdater, sequentialCutoff, new ForkJoinPool(Runtime.getRuntime().availableProcessors()), true);
+    }
+
+    public LForkJoinUpdater(List<T> updateObjects, LItemUpdater<T> lItemUpdater, int sequentialCutoff, ForkJoinPool forkJoinPool) {
+        this(updateObjects, lItemUpdater, sequentialCutoff, forkJoinPool, false);
+    }
+
+    public LForkJoinUpdater(List<T> updateObjects, LDeferredItemUpdater<T> lDeferredItemUpdater) {
+        this(updateObjects, lDeferredItemUpdater, DEFAULT_SEQUENTIAL_CUTOFF);
+    }
+
+    public LForkJoinUpdater(List<T> updateObjects, LDeferredItemUpdater<T> lDeferredItemUpdater, int sequentialCutoff) {
+        this(updateObjects, null, lDeferredItemUpdater, sequentialCutoff, new ForkJoinPool(Runtime.getRuntime().availableProcessors()), true);
+    }
+
+    public LForkJoinUpdater(List<T> updateObjects, LDeferredItemUpdater<T> lDeferredItemUpdater, int sequentialCutoff, ForkJoinPool forkJoinPool) {
+        this(updateObjects, null, lDeferredItemUpdater, sequentialCutoff, forkJoinPool, false);
+    }
+
+    private LForkJoinUpdater(List<T> updateObjects, LItemUpdater<T> lItemUpdater, int sequentialCutoff, ForkJoinPool forkJoinPool, boolean ownsThreadPool) {
+        this(updateObjects, lItemUpdater, null, sequentialCutoff, forkJoinPool, ownsThreadPool);
+    }
+
+    private LForkJoinUpdater(List<T> updateObjects, LItemUpdater<T> lItemUpdater, LDeferredItemUpdater<T> lDeferredItemUpdater, int sequentialCutoff, ForkJoinPool forkJoinPool, boolean ownsThreadPool) {
+        this.updateObjects = updateObjects;
+        this.lItemUpdater = lItemUpdater;
+        this.lDeferredItemUpdater = lDeferredItemUpdater;
+        this.commandBuffers = new ArrayList<>();
+        this.removeSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.commandBuffersUsed = 0;
+        this.threadPool = forkJoinPool;
+        this.ownsThreadPool = ownsThreadPool;
+        this.sequentialCutoff = Math.max(sequentialCutoff, 1);
+        // calling thread takes part in the update
+        this.workers = new RecursiveAction[Math.max(forkJoinPool.getParallelism() - 1, 0)];
+        for (int i = 0; i < workers.length; i++) workers[i] = new Worker();
+        this.nextIndex = new AtomicInteger();
+        this.lastUpdateNanos = 0;
+        this.maxUpdateNanos = 0;
+        this.totalUpdateNanos = 0;
+        this.updates = 0;
+        this.lastUpdateParallel = false;
+    }
+
+    public void update() {
+        final long startTime = System.nanoTime();
+        final int size = updateObjects.size();
+        if (size == 0) {
+            lastUpdateParallel = false;
+        } else if (size <= sequentialCutoff || workers.length == 0) {
+            this.updateSize = size;
+            this.chunkSize = size;
+            this.nextIndex.set(0);
+            prepareCommandBuffers(1);
+            processChunks();
+            lastUpdateParallel = false;
+        } else {
+            this.updateSize = size;
+            this.chunkSize = Math.max(size / ((workers.length + 1) * CHUNKS_PER_THREAD), 1);
+            this.nextIndex.set(0);
+            final int chunks = (size + chunkSize - 1) / chunkSize;
+            prepareCommandBuffers(chunks);
+            final int forkCount = Math.min(workers.length, chunks - 1);
+            for (int i = 0; i < forkCount; i++) {
+                workers[i].reinitialize();
+                threadPool.execute(workers[i]);
+            }
+            try {
+                processChunks();
+            } catch (Throwable t) {
+                nextIndex.set(size); // workers stop claiming chunks
+                throw t;
+            } finally {
+                // forked workers must not outlive update(), even if the calling thread failed
+                for (int i = 0; i < forkCount; i++) workers[i].quietlyJoin();
+            }
+            for (int i = 0; i < forkCount; i++) workers[i].join(); // rethrows worker failures
+            lastUpdateParallel = true;
+        }
+        if (lDeferredItemUpdater != null) applyCommands();
+        lastUpdateNanos = System.nanoTime() - startTime;
+        maxUpdateNanos = Math.max(maxUpdateNanos, lastUpdateNanos);
+        totalUpdateNanos += lastUpdateNanos;
+        updates++;
+    }
+
+    private void processChunks() {
+        final int size = this.updateSize;
+        final int chunkSize = this.chunkSize;
+        int fromIndex;
+        while ((fromIndex = nextIndex.getAndAdd(chunkSize)) < size) {
+            final int toIndex = Math.min(fromIndex + chunkSize, size);
+            if (lDeferredItemUpdater != null) {
+                // one buffer per chunk keeps the merge order independent of thread scheduling
+                final LCommandBuffer<T> commands = commandBuffers.get(fromIndex / chunkSize);
+                for (int i = fromIndex; i < toIndex; i++) {
+                    lDeferredItemUpdater.updateFromThread(updateObjects.get(i), i, commands);
+                }
+            } else {
+                for (int i = fromIndex; i < toIndex; i++) {
+                    lItemUpdater.updateFromThread(updateObjects.get(i), i);
+                }
+            }
+        }
+    }
+
+    private void prepareCommandBuffers(int chunks) {
+        if (lDeferredItemUpdater == null) return;
+        // commands of a failed update were never applied and must not leak into this one
+        for (int c = 0; c < commandBuffersUsed; c++) commandBuffers.get(c).clear();
+        while (commandBuffers.size() < chunks) commandBuffers.add(new LCommandBuffer<>());
+        this.commandBuffersUsed = chunks;
+    }
+
+    private void applyCommands() {
+        // Removals
+        for (int c = 0; c < commandBuffersUsed; c++) {
+            LCommandBuffer<T> commands = commandBuffers.get(c);
+            for (int i = 0; i < commands.size(); i++) {
+                if (commands.type(i) != LCommandBuffer.SPAWN) removeSet.add(commands.object(i));
+            }
+        }
+        if (!removeSet.isEmpty()) {
+            int writeIndex = 0;
+            for (int readIndex = 0; readIndex < updateObjects.size(); readIndex++) {
+                T object = updateObjects.get(readIndex);
+                if (!removeSet.contains(object)) updateObjects.set(writeIndex++, object);
+            }
+            while (updateObjects.size() > writeIndex) updateObjects.remove(updateObjects.size() - 1);
+            removeSet.clear();
+        }
+        // Moves & Spawns
+        for (int c = 0; c < commandBuffersUsed; c++) {
+            LCommandBuffer<T> commands = commandBuffers.get(c);
+            for (int i = 0; i < commands.size(); i++) {
+                if (commands.type(i) == LCommandBuffer.MOVE) commands.target(i).add(commands.object(i));
+            }
+        }
+        for (int c = 0; c < commandBuffersUsed; c++) {
+            LCommandBuffer<T> commands = commandBuffers.get(c);
+            for (int i = 0; i < commands.size(); i++) {
+                if (commands.type(i) == LCommandBuffer.SPAWN) updateObjects.add(commands.object(i));
+            }
+            commands.clear();
+        }
+        this.commandBuffersUsed = 0;
+    }
+
+    class Worker extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            processChunks();
+        }
+    }
+
+    public void setSequentialCutoff(int sequentialCutoff) {
+        this.sequentialCutoff = Math.max(sequentialCutoff, 1);
+    }
+
+    public int getSequentialCutoff() {
+        return sequentialCutoff;
+    }
+
+    public long getLastUpdateNanos() {
+        return lastUpdateNanos;
+    }
+
+    public long getMaxUpdateNanos() {
+        return maxUpdateNanos;
+    }
+
+    public long getAverageUpdateNanos() {
+        return updates > 0 ? totalUpdateNanos / updates : 0;
+    }
+
+    public boolean isLastUpdateParallel() {
+        return lastUpdateParallel;
+    }
+
+    public void resetMetrics() {
+        this.lastUpdateNanos = 0;
+        this.maxUpdateNanos = 0;
+        this.totalUpdateNanos = 0;
+        this.updates = 0;
+    }
+
+    public void shutdown() {
+        if (ownsThreadPool) this.threadPool.shutdown();
+    }
+
+    public List<T> getUpdateObjects() {
+        return updateObjects;
+    }
+
+}
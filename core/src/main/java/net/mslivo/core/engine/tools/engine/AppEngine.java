@@ -1,15 +1,25 @@
 package net.mslivo.core.engine.tools.engine;
 
 import java.util.ArrayDeque;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Modifies Data Structure 1 update step at a time.
  * Sends input to adapter & gathers outputs using object pooling.
+ * Can optionally tick at a fixed rate on its own thread, see {@link #startThread(int, AppEngineDataCopier)}.
  */
 public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
+    private static final int DEFAULT_RING_CAPACITY = 65536;
+    private static final int MAX_TICKS_BEHIND = 5;
+
     static class EngineIO {
-        private int type;
-        private Object[] params;
+        int type;
+        Object[] params;
+        TypedParams typedParams;
+        boolean typed;
     }
 
     private final A adapter;
@@ -18,10 +28,35 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
     private final ArrayDeque<EngineIO> inputPool;
     private final ArrayDeque<EngineIO> outputs;
     private final ArrayDeque<EngineIO> outputPool;
+    private EngineIO currentOutput;
     private int outputType;
     private Object[] outputParams;
-    private long lastUpdateTime;
-    private long ticks;
+    private volatile long lastUpdateTime;
+    private volatile long ticks;
+    // Threaded mode
+    private boolean threaded;
+    private EngineIORing<EngineIO> inputRing;
+    private EngineIORing<EngineIO> inputReturnRing;
+    private EngineIORing<EngineIO> outputRing;
+    private EngineIORing<EngineIO> outputReturnRing;
+    private final ArrayDeque<EngineIO> outputOverflow;
+    private Thread engineThread;
+    private volatile boolean engineThreadRunning;
+    private volatile Throwable engineThreadException;
+    private AppEngineDataCopier<D> dataCopier;
+    private ArrayList<D> dataViews;
+    private final AtomicInteger dataViewState;
+    private int dataViewBack;
+    private int dataViewFront;
+    // Snapshots
+    private AppEngineSnapshots<D> snapshots;
+    // Journal
+    private AppEngineJournal journal;
+    // Profiler
+    private volatile AppEngineProfiler profiler;
+    // Save
+    private final Output output;
+    private AppEngineSaveService<D> saveService;
 
     public AppEngine(A adapter, D data) {
         final String errorMessageNull = "Cannot initialize AppEngine: %s is null";
@@ -33,17 +68,36 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
         this.inputPool = new ArrayDeque<>();
         this.outputs = new ArrayDeque<>();
         this.outputPool = new ArrayDeque<>();
+        this.outputOverflow = new ArrayDeque<>();
+        this.currentOutput = null;
         this.lastUpdateTime = 0;
         this.outputType = -1;
         this.outputParams = null;
+        this.threaded = false;
+        this.engineThreadRunning = false;
+        this.dataViewState = new AtomicInteger(0);
         // Start
         this.adapter = adapter;
 
-        Output output = (type, params) -> {
-            EngineIO engineIO = outputPool.isEmpty() ? new EngineIO() : outputPool.poll() ;
-            engineIO.type = type;
-            engineIO.params = params;
-            outputs.add(engineIO);
+        this.output = new Output() {
+            @Override
+            public void add(int type, Object... params) {
+                EngineIO engineIO = obtainOutput();
+                engineIO.type = type;
+                engineIO.params = params;
+                engineIO.typed = false;
+                submitOutput(engineIO);
+            }
+
+            @Override
+            public TypedParams addTyped(int type) {
+                EngineIO engineIO = obtainOutput();
+                engineIO.type = type;
+                engineIO.params = null;
+                engineIO.typed = true;
+                if (engineIO.typedParams == null) engineIO.typedParams = new TypedParams(AppEngine.this, engineIO, true);
+                return engineIO.typedParams;
+            }
         };
         this.adapter.init(this.data, output);
     }
@@ -57,24 +111,126 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
     }
 
     public void input(int type, Object... params) {
-        EngineIO engineIO = inputPool.isEmpty() ?  new EngineIO() : inputPool.poll();
+        EngineIO engineIO = obtainInput();
         engineIO.type = type;
         engineIO.params = params;
-        inputs.add(engineIO);
+        engineIO.typed = false;
+        submitInput(engineIO);
+    }
+
+    /**
+     * Allocation free input, values are written to the returned params which must be submitted.
+     * The adapter receives them via processInput(int, TypedParams), they are only valid during that call.
+     */
+    public TypedParams inputTyped(int type) {
+        EngineIO engineIO = obtainInput();
+        engineIO.type = type;
+        engineIO.params = null;
+        engineIO.typed = true;
+        if (engineIO.typedParams == null) engineIO.typedParams = new TypedParams(this, engineIO, false);
+        return engineIO.typedParams;
+    }
+
+    void submitTyped(EngineIO engineIO, boolean output) {
+        if (output) {
+            submitOutput(engineIO);
+        } else {
+            submitInput(engineIO);
+        }
+    }
+
+    private EngineIO obtainInput() {
+        if (threaded) {
+            EngineIO returned;
+            while ((returned = inputReturnRing.poll()) != null) inputPool.add(returned);
+        }
+        return inputPool.isEmpty() ? new EngineIO() : inputPool.poll();
+    }
+
+    private void submitInput(EngineIO engineIO) {
+        if (threaded) {
+            checkEngineThread();
+            if (!inputRing.put(engineIO)) {
+                // ring was closed because the engine thread ended while waiting
+                inputPool.add(engineIO);
+                checkEngineThread();
+                throw new RuntimeException("AppEngine thread is not running");
+            }
+        } else {
+            if (journal != null) {
+                try {
+                    AppEngineJournal.validate(engineIO);
+                } catch (RuntimeException e) {
+                    releaseInput(engineIO);
+                    throw e;
+                }
+            }
+            inputs.add(engineIO);
+        }
+    }
+
+    private void releaseInput(EngineIO engineIO) {
+        engineIO.params = null;
+        if (engineIO.typedParams != null) engineIO.typedParams.clear();
+        if (threaded) {
+            inputReturnRing.offer(engineIO);
+        } else {
+            inputPool.add(engineIO);
+        }
+    }
+
+    private EngineIO obtainOutput() {
+        if (threaded) {
+            EngineIO returned;
+            while ((returned = outputReturnRing.poll()) != null) outputPool.add(returned);
+        }
+        return outputPool.isEmpty() ? new EngineIO() : outputPool.poll();
+    }
+
+    private void submitOutput(EngineIO engineIO) {
+        if (threaded) {
+            // ring is closed by stopThread, remaining outputs are kept in order and handed over after join
+            if (!outputRing.put(engineIO)) outputOverflow.add(engineIO);
+        } else {
+            outputs.add(engineIO);
+        }
+    }
+
+    private void releaseOutput(EngineIO engineIO) {
+        engineIO.params = null;
+        if (engineIO.typedParams != null) engineIO.typedParams.clear();
+        if (threaded) {
+            outputReturnRing.offer(engineIO);
+        } else {
+            outputPool.add(engineIO);
+        }
+    }
+
+    private EngineIO pollOutput() {
+        // outputs queued before the thread was started are delivered first
+        EngineIO engineIO = outputs.poll();
+        if (engineIO == null && threaded) engineIO = outputRing.poll();
+        return engineIO;
     }
 
     public boolean outputAvailable() {
+        if (threaded) return !this.outputs.isEmpty() || !this.outputRing.isEmpty();
         return !this.outputs.isEmpty();
     }
 
     public boolean nextOutput(){
-        if(outputAvailable()){
-            EngineIO engineIO = outputs.poll();
+        if (threaded) checkEngineThread();
+        if (currentOutput != null) {
+            releaseOutput(currentOutput);
+            currentOutput = null;
+        }
+        EngineIO engineIO = pollOutput();
+        if (engineIO != null) {
+            currentOutput = engineIO;
             outputType = engineIO.type;
             outputParams = engineIO.params;
-            outputPool.add(engineIO);
             return true;
-        }else{
+        } else {
             this.outputType = -1;
             this.outputParams = null;
             return false;
@@ -82,12 +238,23 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
     }
 
     public void clearOutputs() {
-        outputPool.addAll(this.outputs);
-        this.outputs.clear();
+        if (currentOutput != null) {
+            releaseOutput(currentOutput);
+            currentOutput = null;
+        }
+        EngineIO engineIO;
+        while ((engineIO = pollOutput()) != null) releaseOutput(engineIO);
         this.outputType = -1;
         this.outputParams = null;
     }
 
+    /**
+     * Returns the params of the current output if it was added via Output.addTyped, otherwise null.
+     */
+    public TypedParams getOutputTypedParams() {
+        return (currentOutput != null && currentOutput.typed) ? currentOutput.typedParams : null;
+    }
+
     public int getOutputType() {
         return outputType;
     }
@@ -109,25 +276,338 @@ public class AppEngine<A extends AppEngineAdapter<D>, D extends Object> {
         return adapter;
     }
 
+    /**
+     * In threaded mode with a data copier this returns the read view that was last synced with {@link #syncDataView()}.
+     */
     public D getData(){
+        if (threaded && dataViews != null) return dataViews.get(dataViewFront);
         return data;
     }
 
     public void update() {
+        if (threaded) throw new RuntimeException("AppEngine.update cannot be called while running in threaded mode");
+        tick();
+    }
+
+    private void tick() {
+        final AppEngineProfiler profiler = this.profiler;
+        if (profiler != null) profiler.beginTick();
+        final long tickStart = profiler != null ? System.nanoTime() : 0;
+        if (saveService != null) {
+            saveService.deliverResults(output);
+            saveService.processRequests(data);
+        }
+        if (snapshots != null) snapshots.capture(ticks, data);
+        final long beforeInputsStart = profiler != null ? System.nanoTime() : 0;
         adapter.beforeInputs();
-        // Process Inputs
+        final long inputsStart = profiler != null ? System.nanoTime() : 0;
+        if (profiler != null) profiler.recordPhase(AppEngineProfiler.PHASE_BEFORE_INPUTS, inputsStart - beforeInputsStart);
+        // Process Inputs, inputs queued before the thread was started are processed first
         EngineIO engineIO;
-        while ((engineIO = this.inputs.pollFirst()) != null) {
-            adapter.processInput(engineIO.type, engineIO.params);
-            inputPool.add(engineIO);
+        while ((engineIO = this.inputs.pollFirst()) != null || (threaded && (engineIO = inputRing.poll()) != null)) {
+            if (snapshots != null) snapshots.record(ticks, engineIO);
+            if (journal != null) journal.record(ticks, engineIO);
+            if (profiler != null) {
+                final long inputStart = System.nanoTime();
+                processInput(engineIO);
+                profiler.recordInput(engineIO.type, System.nanoTime() - inputStart);
+            } else {
+                processInput(engineIO);
+            }
+            releaseInput(engineIO);
         }
         // Update Engine
+        final long updateStart = profiler != null ? System.nanoTime() : 0;
+        if (profiler != null) profiler.recordPhase(AppEngineProfiler.PHASE_INPUTS, updateStart - inputsStart);
         adapter.update();
+        if (profiler != null) {
+            final long updateEnd = System.nanoTime();
+            profiler.recordPhase(AppEngineProfiler.PHASE_UPDATE, updateEnd - updateStart);
+            profiler.recordPhase(AppEngineProfiler.PHASE_TICK, updateEnd - tickStart);
+        }
         this.lastUpdateTime = System.currentTimeMillis();
         this.ticks++;
+        if (threaded && dataViews != null) publishDataView();
+    }
+
+    private void processInput(EngineIO engineIO) {
+        if (engineIO.typed) {
+            adapter.processInput(engineIO.type, engineIO.typedParams);
+        } else {
+            adapter.processInput(engineIO.type, engineIO.params);
+        }
+    }
+
+    /* ------- Async Save ------- */
+
+    /**
+     * Enables saveAsync. Completion is delivered as output of outputType with params
+     * (Path file, Boolean success, Exception exception, Long nanos).
+     * Cannot be enabled or disabled while running in threaded mode, saveAsync can be called in both modes.
+     */
+    public void enableAsyncSave(AppEngineDataCopier<D> dataCopier, int outputType) {
+        if (threaded) throw new RuntimeException("AppEngine async save cannot be enabled while running in threaded mode");
+        if (dataCopier == null) throw new RuntimeException("Cannot enable async save: dataCopier is null");
+        if (saveService != null) saveService.shutdown();
+        this.saveService = new AppEngineSaveService<>(dataCopier, outputType);
+    }
+
+    public void disableAsyncSave() {
+        if (threaded) throw new RuntimeException("AppEngine async save cannot be disabled while running in threaded mode");
+        if (saveService != null) saveService.shutdown();
+        this.saveService = null;
+    }
+
+    /**
+     * Copies the data at the next tick boundary and writes it GZIP compressed & atomically on a background thread.
+     * Files can be read with Tools.File.readObjectFromCompressedFile.
+     */
+    public void saveAsync(Path file) {
+        if (saveService == null) throw new RuntimeException("Async save is not enabled");
+        saveService.request(file);
+        // Between two updates the engine is already at a tick boundary
+        if (!threaded) saveService.processRequests(data);
+    }
+
+    /* ------- Profiler ------- */
+
+    /**
+     * Measures beforeInputs, every processInput call per input type and update over the last windowSize ticks.
+     * Can be enabled and read while running in threaded mode.
+     */
+    public void enableProfiler(int windowSize) {
+        this.profiler = new AppEngineProfiler(windowSize);
+    }
+
+    public void disableProfiler() {
+        this.profiler = null;
+    }
+
+    public AppEngineProfiler getProfiler() {
+        return profiler;
+    }
+
+    /* ------- Snapshots ------- */
+
+    /**
+     * Keeps the data state of the last n ticks plus the inputs applied during those ticks.
+     * Varargs params are recorded by reference and must not be modified after input().
+     * Not available in threaded mode.
+     */
+    public void enableSnapshots(int capacity, AppEngineDataCopier<D> dataCopier) {
+        if (threaded) throw new RuntimeException("AppEngine snapshots cannot be enabled while running in threaded mode");
+        if (dataCopier == null) throw new RuntimeException("Cannot enable snapshots: dataCopier is null");
+        this.snapshots = new AppEngineSnapshots<>(this, capacity, dataCopier);
+    }
+
+    public void disableSnapshots() {
+        if (threaded) throw new RuntimeException("AppEngine snapshots cannot be disabled while running in threaded mode");
+        this.snapshots = null;
+    }
+
+    public boolean hasSnapshot(long tick) {
+        return snapshots != null && snapshots.has(tick);
+    }
+
+    /**
+     * Restores the data to the state it had when getTicks() returned tick.
+     * Snapshots of later ticks are dropped, their recorded inputs stay available to resimulate().
+     */
+    public void restoreSnapshot(long tick) {
+        if (threaded) throw new RuntimeException("AppEngine snapshots cannot be restored while running in threaded mode");
+        if (!hasSnapshot(tick)) throw new RuntimeException("No snapshot available for tick " + tick);
+        snapshots.restore(tick, data);
+        this.ticks = tick;
+    }
+
+    /**
+     * Re-runs update() with the recorded inputs until getTicks() reaches toTick, snapshots are captured again on the way.
+     * Outputs created during resimulation are delivered as usual.
+     * Resimulated ticks are not recorded by the journal and not measured by the profiler, they were when first processed.
+     */
+    public void resimulate(long toTick) {
+        if (threaded) throw new RuntimeException("AppEngine cannot resimulate while running in threaded mode");
+        while (ticks < toTick) {
+            if (snapshots == null || !snapshots.hasInputs(ticks)) throw new RuntimeException("No recorded inputs available for tick " + ticks);
+            snapshots.recapture(ticks, data);
+            adapter.beforeInputs();
+            ArrayList<EngineIO> recordedInputs = snapshots.inputs(ticks);
+            for (int i = 0; i < recordedInputs.size(); i++) processInput(recordedInputs.get(i));
+            adapter.update();
+            this.lastUpdateTime = System.currentTimeMillis();
+            this.ticks++;
+        }
+    }
+
+    public long getSnapshotLastNanos() {
+        return snapshots != null ? snapshots.getLastCaptureNanos() : 0;
+    }
+
+    public long getSnapshotAverageNanos() {
+        return snapshots != null ? snapshots.getAverageCaptureNanos() : 0;
+    }
+
+    /* ------- Journal ------- */
+
+    /**
+     * Records every processed input with its tick into a binary journal which can be replayed with AppEngineJournalReplay.
+     * Supported varargs params are null, boxed primitives, Strings and enums, input() rejects other params while the journal runs.
+     * Not available in threaded mode.
+     */
+    public void startJournal(Path file) {
+        if (threaded) throw new RuntimeException("AppEngine journal cannot be started while running in threaded mode");
+        // inputs queued before the journal was started are recorded as well
+        for (EngineIO engineIO : inputs) AppEngineJournal.validate(engineIO);
+        if (journal != null) stopJournal();
+        this.journal = new AppEngineJournal(file, ticks);
+    }
+
+    public void stopJournal() {
+        if (journal == null) return;
+        if (threaded) throw new RuntimeException("AppEngine journal cannot be stopped while running in threaded mode");
+        journal.close(ticks);
+        this.journal = null;
+    }
+
+    public boolean isJournalRecording() {
+        return journal != null;
+    }
+
+    /* ------- Threaded Mode ------- */
+
+    public void startThread(int ticksPerSecond) {
+        startThread(ticksPerSecond, null, DEFAULT_RING_CAPACITY);
+    }
+
+    public void startThread(int ticksPerSecond, AppEngineDataCopier<D> dataCopier) {
+        startThread(ticksPerSecond, dataCopier, DEFAULT_RING_CAPACITY);
+    }
+
+    /**
+     * Ticks the engine at a fixed rate on a dedicated thread. Inputs and outputs are exchanged through lock-free queues.
+     * With a data copier, the engine publishes a copy of the data after every tick which can be read via getData()
+     * after calling syncDataView(), otherwise the adapter is responsible for thread safe access to the data.
+     */
+    public void startThread(int ticksPerSecond, AppEngineDataCopier<D> dataCopier, int queueCapacity) {
+        if (threaded) throw new RuntimeException("AppEngine thread is already running");
+        // would be captured on the engine thread while being read from the caller
+        if (snapshots != null) throw new RuntimeException("AppEngine thread cannot be started while snapshots are enabled");
+        // could not be stopped until the thread is stopped again
+        if (journal != null) throw new RuntimeException("AppEngine thread cannot be started while a journal is recording");
+        // Pending inputs are handed over to the engine thread, pending outputs stay with the caller
+        this.inputRing = new EngineIORing<>(queueCapacity);
+        this.inputReturnRing = new EngineIORing<>(queueCapacity);
+        this.outputRing = new EngineIORing<>(queueCapacity);
+        this.outputReturnRing = new EngineIORing<>(queueCapacity);
+        this.dataCopier = dataCopier;
+        if (dataCopier != null) {
+            this.dataViews = new ArrayList<>(3);
+            for (int i = 0; i < 3; i++) {
+                D dataView = dataCopier.provideNewInstance();
+                dataCopier.copy(this.data, dataView);
+                dataViews.add(dataView);
+            }
+            this.dataViewFront = 0;
+            this.dataViewBack = 1;
+            this.dataViewState.set(2 << 1);
+        } else {
+            this.dataViews = null;
+        }
+        final long periodNanos = 1_000_000_000L / Math.max(ticksPerSecond, 1);
+        this.engineThreadException = null;
+        this.engineThreadRunning = true;
+        this.threaded = true;
+        this.engineThread = new Thread(() -> runThread(periodNanos), "AppEngine");
+        this.engineThread.setDaemon(true);
+        this.engineThread.start();
+    }
+
+    public void stopThread() {
+        if (!threaded) return;
+        this.engineThreadRunning = false;
+        // engine thread must not wait for the caller to drain a full output ring
+        this.outputRing.close();
+        try {
+            this.engineThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.threaded = false;
+        // Return unprocessed inputs & outputs to the single threaded queues
+        EngineIO engineIO;
+        while ((engineIO = inputRing.poll()) != null) inputs.add(engineIO);
+        while ((engineIO = outputRing.poll()) != null) outputs.add(engineIO);
+        while ((engineIO = outputOverflow.poll()) != null) outputs.add(engineIO);
+        while ((engineIO = inputReturnRing.poll()) != null) inputPool.add(engineIO);
+        while ((engineIO = outputReturnRing.poll()) != null) outputPool.add(engineIO);
+        this.engineThread = null;
+        this.inputRing = null;
+        this.inputReturnRing = null;
+        this.outputRing = null;
+        this.outputReturnRing = null;
+        this.dataViews = null;
+        this.dataCopier = null;
+    }
+
+    public boolean isThreaded() {
+        return threaded;
+    }
+
+    /**
+     * Switches the read view returned by getData() to the latest tick published by the engine thread.
+     * Call once per frame to get a frame-consistent view.
+     */
+    public void syncDataView() {
+        if (!threaded || dataViews == null) return;
+        checkEngineThread();
+        if ((dataViewState.get() & 1) != 0) {
+            int previous = dataViewState.getAndSet(dataViewFront << 1);
+            dataViewFront = previous >> 1;
+        }
+    }
+
+    private void publishDataView() {
+        dataCopier.copy(this.data, dataViews.get(dataViewBack));
+        int previous = dataViewState.getAndSet((dataViewBack << 1) | 1);
+        dataViewBack = previous >> 1;
+    }
+
+    private void runThread(long periodNanos) {
+        long nextTick = System.nanoTime();
+        try {
+            while (engineThreadRunning) {
+                tick();
+                nextTick += periodNanos;
+                long wait = nextTick - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else if (-wait > (periodNanos * MAX_TICKS_BEHIND)) {
+                    // Too far behind, don't try to catch up
+                    nextTick = System.nanoTime();
+                }
+            }
+        } catch (Throwable t) {
+            // Errors are reported too, otherwise the thread would die silently
+            this.engineThreadException = t;
+            this.engineThreadRunning = false;
+        } finally {
+            // callers waiting on a full input ring fail instead of spinning forever
+            this.inputRing.close();
+        }
+    }
+
+    private void checkEngineThread() {
+        if (engineThreadException != null) {
+            Throwable e = engineThreadException;
+            engineThreadException = null;
+            throw new RuntimeException("AppEngine thread stopped due to exception", e);
+        }
     }
 
     public void shutdown() {
+        stopThread();
+        stopJournal();
+        if (saveService != null) saveService.shutdown();
         inputs.clear();
         outputs.clear();
         adapter.shutdown();
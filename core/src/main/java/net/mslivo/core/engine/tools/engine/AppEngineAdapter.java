@@ -4,6 +4,13 @@ public interface AppEngineAdapter<D> {
     void init(D data, Output outputs);
     default void beforeInputs() {}
     void processInput(int type, Object[] params);
+    /**
+     * Receives inputs created via AppEngine.inputTyped. Adapters that don't override this get them
+     * via processInput(type, Object[]) with the boxed values, ordered ints, longs, floats, objects.
+     */
+    default void processInput(int type, TypedParams params) {
+        processInput(type, params.toParams());
+    }
     void update();
     void shutdown();
 }
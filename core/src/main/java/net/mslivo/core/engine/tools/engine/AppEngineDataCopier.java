@@ -0,0 +1,12 @@
+package net.mslivo.core.engine.tools.engine;
+
+/**
+ * Provides cheap copies of the engine data, used for read views and snapshots.
+ */
+public interface AppEngineDataCopier<D> {
+
+    D provideNewInstance();
+
+    void copy(D source, D target);
+
+}
@@ -0,0 +1,164 @@
+package net.mslivo.core.engine.tools.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary journal of all inputs processed by an AppEngine.
+ * Layout: header (magic, version, start tick), records (tick, type, params), end marker (end tick).
+ */
+class AppEngineJournal {
+    static final int MAGIC = 0x41454A31; // "AEJ1"
+    static final int VERSION = 1;
+    static final byte RECORD_INPUT = 1, RECORD_INPUT_TYPED = 2, RECORD_END = 3;
+    static final byte VALUE_NULL = 0, VALUE_INT = 1, VALUE_LONG = 2, VALUE_FLOAT = 3, VALUE_DOUBLE = 4, VALUE_BOOLEAN = 5,
+            VALUE_STRING = 6, VALUE_SHORT = 7, VALUE_BYTE = 8, VALUE_CHAR = 9, VALUE_ENUM = 10;
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel fileChannel;
+    private final ByteBuffer buffer;
+
+    AppEngineJournal(Path file, long startTick) {
+        try {
+            this.fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot open journal " + file, e);
+        }
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        ensure(16);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(startTick);
+    }
+
+    void record(long tick, AppEngine.EngineIO engineIO) {
+        // a partially written record would corrupt the journal, so everything is checked first
+        validate(engineIO);
+        ensure(13);
+        buffer.put(engineIO.typed ? RECORD_INPUT_TYPED : RECORD_INPUT);
+        buffer.putLong(tick);
+        buffer.putInt(engineIO.type);
+        if (engineIO.typed) {
+            TypedParams params = engineIO.typedParams;
+            ensure(16);
+            buffer.putInt(params.intCount());
+            buffer.putInt(params.longCount());
+            buffer.putInt(params.floatCount());
+            buffer.putInt(params.objectCount());
+            for (int i = 0; i < params.intCount(); i++) {
+                ensure(4);
+                buffer.putInt(params.getInt(i));
+            }
+            for (int i = 0; i < params.longCount(); i++) {
+                ensure(8);
+                buffer.putLong(params.getLong(i));
+            }
+            for (int i = 0; i < params.floatCount(); i++) {
+                ensure(4);
+                buffer.putFloat(params.getFloat(i));
+            }
+            for (int i = 0; i < params.objectCount(); i++) writeValue(params.getObject(i));
+        } else {
+            Object[] params = engineIO.params;
+            int length = params != null ? params.length : 0;
+            ensure(4);
+            buffer.putInt(length);
+            for (int i = 0; i < length; i++) writeValue(params[i]);
+        }
+    }
+
+    /* Also called when an input is submitted, so unsupported params are rejected before the input is queued */
+    static void validate(AppEngine.EngineIO engineIO) {
+        if (engineIO.typed) {
+            TypedParams params = engineIO.typedParams;
+            for (int i = 0; i < params.objectCount(); i++) validateValue(params.getObject(i));
+        } else if (engineIO.params != null) {
+            for (int i = 0; i < engineIO.params.length; i++) validateValue(engineIO.params[i]);
+        }
+    }
+
+    private static void validateValue(Object value) {
+        if (value == null || value instanceof Integer || value instanceof Long || value instanceof Float || value instanceof Double
+                || value instanceof Boolean || value instanceof Short || value instanceof Byte || value instanceof Character) return;
+        if (value instanceof String s) {
+            validateString(s);
+        } else if (value instanceof Enum<?> e) {
+            validateString(e.getDeclaringClass().getName());
+        } else {
+            throw new RuntimeException("Journal cannot record input parameter of type " + value.getClass().getName());
+        }
+    }
+
+    private static void validateString(String value) {
+        // UTF-8 uses at most 3 bytes per char, only encode when that bound doesn't fit
+        if ((value.length() * 3) + 4 <= BUFFER_SIZE) return;
+        if (value.getBytes(StandardCharsets.UTF_8).length + 4 > BUFFER_SIZE) {
+            throw new RuntimeException("Journal cannot record strings larger than " + (BUFFER_SIZE - 4) + " bytes");
+        }
+    }
+
+    private void writeValue(Object value) {
+        ensure(9);
+        switch (value) {
+            case null -> buffer.put(VALUE_NULL);
+            case Integer i -> buffer.put(VALUE_INT).putInt(i);
+            case Long l -> buffer.put(VALUE_LONG).putLong(l);
+            case Float f -> buffer.put(VALUE_FLOAT).putFloat(f);
+            case Double d -> buffer.put(VALUE_DOUBLE).putDouble(d);
+            case Boolean b -> buffer.put(VALUE_BOOLEAN).put((byte) (b ? 1 : 0));
+            case Short s -> buffer.put(VALUE_SHORT).putShort(s);
+            case Byte b -> buffer.put(VALUE_BYTE).put(b);
+            case Character c -> buffer.put(VALUE_CHAR).putChar(c);
+            case String s -> {
+                buffer.put(VALUE_STRING);
+                writeString(s);
+            }
+            case Enum<?> e -> {
+                buffer.put(VALUE_ENUM);
+                writeString(e.getDeclaringClass().getName());
+                ensure(4);
+                buffer.putInt(e.ordinal());
+            }
+            default -> throw new RuntimeException("Journal cannot record input parameter of type " + value.getClass().getName());
+        }
+    }
+
+    private void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length + 4 > BUFFER_SIZE) throw new RuntimeException("Journal cannot record strings larger than " + (BUFFER_SIZE - 4) + " bytes");
+        ensure(4 + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) flush();
+    }
+
+    void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) fileChannel.write(buffer);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot write journal", e);
+        }
+        buffer.clear();
+    }
+
+    void close(long endTick) {
+        ensure(9);
+        buffer.put(RECORD_END);
+        buffer.putLong(endTick);
+        flush();
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot close journal", e);
+        }
+    }
+
+}
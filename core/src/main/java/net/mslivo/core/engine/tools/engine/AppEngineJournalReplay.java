@@ -0,0 +1,156 @@
+package net.mslivo.core.engine.tools.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Feeds a journal recorded with AppEngine.startJournal into a fresh AppEngine as fast as possible, without rendering.
+ * Useful for reproducible simulation benchmarks from real sessions.
+ */
+public class AppEngineJournalReplay {
+    private final Path file;
+    private final ByteBuffer buffer;
+    private FileChannel fileChannel;
+    private long ticks;
+    private long inputs;
+    private long nanos;
+
+    public AppEngineJournalReplay(Path file) {
+        this.file = file;
+        this.buffer = ByteBuffer.allocateDirect(AppEngineJournal.BUFFER_SIZE);
+        this.ticks = 0;
+        this.inputs = 0;
+        this.nanos = 0;
+    }
+
+    public void run(AppEngine<?, ?> appEngine) {
+        final long startTime = System.nanoTime();
+        final long engineStartTick = appEngine.getTicks();
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            this.fileChannel = fileChannel;
+            buffer.clear().flip();
+            ensure(16);
+            if (buffer.getInt() != AppEngineJournal.MAGIC) throw new RuntimeException("File " + file + " is not an AppEngine journal");
+            final int version = buffer.getInt();
+            if (version != AppEngineJournal.VERSION) throw new RuntimeException("Journal " + file + " has unsupported version " + version);
+            final long journalStartTick = buffer.getLong();
+            this.inputs = 0;
+            while (true) {
+                ensure(1);
+                byte record = buffer.get();
+                if (record == AppEngineJournal.RECORD_END) {
+                    ensure(8);
+                    advance(appEngine, engineStartTick, buffer.getLong() - journalStartTick);
+                    break;
+                }
+                ensure(12);
+                advance(appEngine, engineStartTick, buffer.getLong() - journalStartTick);
+                int type = buffer.getInt();
+                if (record == AppEngineJournal.RECORD_INPUT_TYPED) {
+                    ensure(16);
+                    int intCount = buffer.getInt(), longCount = buffer.getInt(), floatCount = buffer.getInt(), objectCount = buffer.getInt();
+                    TypedParams params = appEngine.inputTyped(type);
+                    for (int i = 0; i < intCount; i++) {
+                        ensure(4);
+                        params.putInt(buffer.getInt());
+                    }
+                    for (int i = 0; i < longCount; i++) {
+                        ensure(8);
+                        params.putLong(buffer.getLong());
+                    }
+                    for (int i = 0; i < floatCount; i++) {
+                        ensure(4);
+                        params.putFloat(buffer.getFloat());
+                    }
+                    for (int i = 0; i < objectCount; i++) params.putObject(readValue());
+                    params.submit();
+                } else {
+                    ensure(4);
+                    Object[] params = new Object[buffer.getInt()];
+                    for (int i = 0; i < params.length; i++) params[i] = readValue();
+                    appEngine.input(type, params);
+                }
+                inputs++;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read journal " + file, e);
+        } finally {
+            this.fileChannel = null;
+        }
+        this.ticks = appEngine.getTicks() - engineStartTick;
+        this.nanos = System.nanoTime() - startTime;
+    }
+
+    private void advance(AppEngine<?, ?> appEngine, long engineStartTick, long journalTicks) {
+        while ((appEngine.getTicks() - engineStartTick) < journalTicks) appEngine.update();
+    }
+
+    private Object readValue() throws IOException {
+        ensure(9);
+        byte valueType = buffer.get();
+        return switch (valueType) {
+            case AppEngineJournal.VALUE_NULL -> null;
+            case AppEngineJournal.VALUE_INT -> buffer.getInt();
+            case AppEngineJournal.VALUE_LONG -> buffer.getLong();
+            case AppEngineJournal.VALUE_FLOAT -> buffer.getFloat();
+            case AppEngineJournal.VALUE_DOUBLE -> buffer.getDouble();
+            case AppEngineJournal.VALUE_BOOLEAN -> buffer.get() != 0;
+            case AppEngineJournal.VALUE_SHORT -> buffer.getShort();
+            case AppEngineJournal.VALUE_BYTE -> buffer.get();
+            case AppEngineJournal.VALUE_CHAR -> buffer.getChar();
+            case AppEngineJournal.VALUE_STRING -> readString();
+            case AppEngineJournal.VALUE_ENUM -> {
+                String className = readString();
+                ensure(4);
+                int ordinal = buffer.getInt();
+                try {
+                    yield Class.forName(className).getEnumConstants()[ordinal];
+                } catch (ClassNotFoundException e) {
+                    throw new RuntimeException("Journal enum class " + className + " not found", e);
+                }
+            }
+            default -> throw new RuntimeException("Journal contains unknown value type " + valueType);
+        };
+    }
+
+    private String readString() throws IOException {
+        ensure(4);
+        int length = buffer.getInt();
+        ensure(length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return;
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (fileChannel.read(buffer) == -1) {
+                if (buffer.position() < bytes) throw new RuntimeException("Journal " + file + " ended unexpectedly");
+            }
+        }
+        buffer.flip();
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getInputs() {
+        return inputs;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getTicksPerSecond() {
+        return nanos > 0 ? ticks / (nanos / 1_000_000_000d) : 0;
+    }
+
+}
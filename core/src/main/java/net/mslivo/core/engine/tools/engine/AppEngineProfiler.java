@@ -0,0 +1,137 @@
+package net.mslivo.core.engine.tools.engine;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Nanosecond timings of AppEngine tick phases and of every input type, aggregated over a rolling window of ticks.
+ * Samples are only written by the thread that ticks the engine. Readers on other threads see the registered input types
+ * through a copy-on-write snapshot, sample values read while the engine is ticking may be off by the current tick.
+ */
+public class AppEngineProfiler {
+    public static final int PHASE_BEFORE_INPUTS = 0;
+    public static final int PHASE_INPUTS = 1;
+    public static final int PHASE_UPDATE = 2;
+    public static final int PHASE_TICK = 3;
+    private static final int PHASES = 4;
+
+    /* Immutable once published */
+    private static final class InputTypes {
+        final IntArray types;
+        final IntMap<AppEngineProfilerHistogram> histograms;
+
+        InputTypes(IntArray types, IntMap<AppEngineProfilerHistogram> histograms) {
+            this.types = types;
+            this.histograms = histograms;
+        }
+    }
+
+    private final int windowSize;
+    private final AppEngineProfilerHistogram[] phases;
+    private volatile InputTypes inputTypes;
+    private volatile boolean resetRequested;
+
+    AppEngineProfiler(int windowSize) {
+        this.windowSize = Math.max(windowSize, 1);
+        this.phases = new AppEngineProfilerHistogram[PHASES];
+        for (int i = 0; i < PHASES; i++) phases[i] = new AppEngineProfilerHistogram(this.windowSize);
+        this.inputTypes = new InputTypes(new IntArray(), new IntMap<>());
+        this.resetRequested = false;
+    }
+
+    /* Engine thread, at the start of every tick */
+    void beginTick() {
+        if (!resetRequested) return;
+        for (int i = 0; i < PHASES; i++) phases[i].reset();
+        this.inputTypes = new InputTypes(new IntArray(), new IntMap<>());
+        this.resetRequested = false;
+    }
+
+    /* Engine thread */
+    void recordPhase(int phase, long nanos) {
+        phases[phase].add(nanos);
+    }
+
+    /* Engine thread */
+    void recordInput(int type, long nanos) {
+        AppEngineProfilerHistogram histogram = inputTypes.histograms.get(type);
+        if (histogram == null) {
+            // new types are rare, copy and publish so readers never see a map that is being resized
+            InputTypes current = this.inputTypes;
+            IntArray types = new IntArray(current.types);
+            IntMap<AppEngineProfilerHistogram> histograms = new IntMap<>(current.histograms);
+            histogram = new AppEngineProfilerHistogram(this.windowSize);
+            types.add(type);
+            histograms.put(type, histogram);
+            this.inputTypes = new InputTypes(types, histograms);
+        }
+        histogram.add(nanos);
+    }
+
+    public long getPhaseP50(int phase) {
+        return phases[phase].percentile(0.50f);
+    }
+
+    public long getPhaseP95(int phase) {
+        return phases[phase].percentile(0.95f);
+    }
+
+    public long getPhaseP99(int phase) {
+        return phases[phase].percentile(0.99f);
+    }
+
+    public long getPhaseMax(int phase) {
+        return phases[phase].max();
+    }
+
+    public long getPhasePercentile(int phase, float percentile) {
+        return phases[phase].percentile(percentile);
+    }
+
+    /**
+     * All input types processed since the profiler was enabled or reset.
+     * The returned array is a snapshot and must not be modified.
+     */
+    public IntArray getInputTypes() {
+        return inputTypes.types;
+    }
+
+    public long getInputP50(int type) {
+        return getInputPercentile(type, 0.50f);
+    }
+
+    public long getInputP95(int type) {
+        return getInputPercentile(type, 0.95f);
+    }
+
+    public long getInputP99(int type) {
+        return getInputPercentile(type, 0.99f);
+    }
+
+    public long getInputMax(int type) {
+        AppEngineProfilerHistogram histogram = inputTypes.histograms.get(type);
+        return histogram != null ? histogram.max() : 0;
+    }
+
+    public long getInputPercentile(int type, float percentile) {
+        AppEngineProfilerHistogram histogram = inputTypes.histograms.get(type);
+        return histogram != null ? histogram.percentile(percentile) : 0;
+    }
+
+    public int getInputCount(int type) {
+        AppEngineProfilerHistogram histogram = inputTypes.histograms.get(type);
+        return histogram != null ? histogram.count() : 0;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Takes effect at the start of the next tick, on the thread that ticks the engine.
+     */
+    public void reset() {
+        this.resetRequested = true;
+    }
+
+}
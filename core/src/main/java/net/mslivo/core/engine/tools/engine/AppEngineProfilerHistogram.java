@@ -0,0 +1,63 @@
+package net.mslivo.core.engine.tools.engine;
+
+import java.util.Arrays;
+
+/**
+ * Rolling window of nanosecond samples, percentiles are computed on request.
+ * Written by one thread only. Readers on other threads work on the samples they see, the window is never resized.
+ */
+class AppEngineProfilerHistogram {
+    private final long[] samples;
+    private final long[] sorted;
+    private int index;
+    private volatile int count;
+    private volatile int version;
+    private int sortedVersion;
+
+    AppEngineProfilerHistogram(int windowSize) {
+        this.samples = new long[Math.max(windowSize, 1)];
+        this.sorted = new long[samples.length];
+        this.index = 0;
+        this.count = 0;
+        this.version = 0;
+        this.sortedVersion = -1;
+    }
+
+    void add(long nanos) {
+        samples[index] = nanos;
+        index = (index + 1) % samples.length;
+        if (count < samples.length) count++;
+        version++;
+    }
+
+    /* Reader side, sorted copy is refreshed when samples were added since the last call */
+    synchronized long percentile(float percentile) {
+        final int count = this.count;
+        if (count == 0) return 0;
+        final int version = this.version;
+        if (sortedVersion != version) {
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            sortedVersion = version;
+        }
+        int rank = (int) Math.ceil(Math.min(Math.max(percentile, 0f), 1f) * count) - 1;
+        return sorted[Math.max(rank, 0)];
+    }
+
+    long max() {
+        final int count = this.count;
+        long max = 0;
+        for (int i = 0; i < count; i++) max = Math.max(max, samples[i]);
+        return max;
+    }
+
+    int count() {
+        return count;
+    }
+
+    void reset() {
+        this.index = 0;
+        this.count = 0;
+        this.version++;
+    }
+}
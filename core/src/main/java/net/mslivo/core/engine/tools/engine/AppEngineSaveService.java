@@ -0,0 +1,85 @@
+package net.mslivo.core.engine.tools.engine;
+
+import net.mslivo.core.engine.tools.Tools;
+
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Copies the engine data at a tick boundary and writes the copy compressed & atomically on a background thread.
+ */
+class AppEngineSaveService<D> {
+    private final AppEngineDataCopier<D> dataCopier;
+    private final int outputType;
+    private final ExecutorService saveThread;
+    private final ConcurrentLinkedQueue<Path> requests;
+    private final ConcurrentLinkedQueue<SaveResult> results;
+    private final ConcurrentLinkedQueue<D> dataPool;
+
+    private static class SaveResult {
+        private final Path file;
+        private final Exception exception;
+        private final long nanos;
+
+        private SaveResult(Path file, Exception exception, long nanos) {
+            this.file = file;
+            this.exception = exception;
+            this.nanos = nanos;
+        }
+    }
+
+    AppEngineSaveService(AppEngineDataCopier<D> dataCopier, int outputType) {
+        this.dataCopier = dataCopier;
+        this.outputType = outputType;
+        this.saveThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AppEngine Save");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.requests = new ConcurrentLinkedQueue<>();
+        this.results = new ConcurrentLinkedQueue<>();
+        this.dataPool = new ConcurrentLinkedQueue<>();
+    }
+
+    void request(Path file) {
+        requests.add(file);
+    }
+
+    /* Engine thread, at a tick boundary */
+    void processRequests(D data) {
+        Path file;
+        while ((file = requests.poll()) != null) {
+            D copy = dataPool.poll();
+            if (copy == null) copy = dataCopier.provideNewInstance();
+            dataCopier.copy(data, copy);
+            final D saveData = copy;
+            final Path saveFile = file;
+            saveThread.execute(() -> {
+                final long startTime = System.nanoTime();
+                Exception exception = null;
+                try {
+                    Tools.File.writeObjectToCompressedFile(saveData, saveFile);
+                } catch (Exception e) {
+                    exception = e;
+                }
+                dataPool.add(saveData);
+                results.add(new SaveResult(saveFile, exception, System.nanoTime() - startTime));
+            });
+        }
+    }
+
+    /* Engine thread, output params: file, success, exception, nanos */
+    void deliverResults(Output output) {
+        SaveResult result;
+        while ((result = results.poll()) != null) {
+            output.add(outputType, result.file, result.exception == null, result.exception, result.nanos);
+        }
+    }
+
+    void shutdown() {
+        // queued saves are still written
+        saveThread.shutdown();
+    }
+}
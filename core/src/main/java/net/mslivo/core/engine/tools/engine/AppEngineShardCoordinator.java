@@ -0,0 +1,100 @@
+package net.mslivo.core.engine.tools.engine;
+
+import net.mslivo.core.engine.tools.concurrency.lists.LForkJoinUpdater;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Ticks several AppEngines, each owning one region of a partitioned world, in parallel.
+ * update() returns after all shards finished the tick. Messages between shards are sent through
+ * each shards {@link AppEngineShardMailbox} and exchanged at that barrier, they arrive as inputs in the next tick.
+ */
+public class AppEngineShardCoordinator<A extends AppEngineAdapter<D>, D> {
+    private final ArrayList<AppEngine<A, D>> shards;
+    private final AppEngineShardMailbox[] mailboxes;
+    private final LForkJoinUpdater<AppEngine<A, D>> updater;
+    private long ticks;
+    private long lastTickNanos;
+
+    /**
+     * Shards are updated on a pool owned by the coordinator, which is shut down with {@link #shutdown()}.
+     */
+    public AppEngineShardCoordinator(List<AppEngine<A, D>> shards) {
+        this(shards, null);
+    }
+
+    /**
+     * @param forkJoinPool shared pool, not shut down by the coordinator. null creates an owned pool.
+     */
+    public AppEngineShardCoordinator(List<AppEngine<A, D>> shards, ForkJoinPool forkJoinPool) {
+        if (shards == null || shards.isEmpty()) throw new RuntimeException("Cannot initialize AppEngineShardCoordinator: no shards");
+        for (int i = 0; i < shards.size(); i++) {
+            if (shards.get(i).isThreaded()) throw new RuntimeException("Cannot initialize AppEngineShardCoordinator: shard " + i + " is running in threaded mode");
+        }
+        this.shards = new ArrayList<>(shards);
+        this.mailboxes = new AppEngineShardMailbox[shards.size()];
+        for (int i = 0; i < mailboxes.length; i++) mailboxes[i] = new AppEngineShardMailbox(i);
+        // one shard per chunk
+        this.updater = forkJoinPool == null ?
+                new LForkJoinUpdater<>(this.shards, (appEngine, index) -> appEngine.update(), 1) :
+                new LForkJoinUpdater<>(this.shards, (appEngine, index) -> appEngine.update(), 1, forkJoinPool);
+        this.ticks = 0;
+        this.lastTickNanos = 0;
+    }
+
+    public void update() {
+        final long startTime = System.nanoTime();
+        updater.update();
+        exchangeMessages();
+        this.ticks++;
+        this.lastTickNanos = System.nanoTime() - startTime;
+    }
+
+    private void exchangeMessages() {
+        for (int s = 0; s < mailboxes.length; s++) {
+            AppEngineShardMailbox mailbox = mailboxes[s];
+            for (int i = 0; i < mailbox.size(); i++) {
+                int target = mailbox.target(i);
+                if (target == AppEngineShardMailbox.TARGET_ALL) {
+                    for (int t = 0; t < shards.size(); t++) {
+                        if (t != s) shards.get(t).input(mailbox.type(i), mailbox.params(i));
+                    }
+                } else {
+                    shards.get(target).input(mailbox.type(i), mailbox.params(i));
+                }
+            }
+            mailbox.clear();
+        }
+    }
+
+    /**
+     * Mailbox for the adapter of the given shard, must only be used from within that shards update.
+     */
+    public AppEngineShardMailbox getMailbox(int shard) {
+        return mailboxes[shard];
+    }
+
+    public AppEngine<A, D> getShard(int shard) {
+        return shards.get(shard);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public void shutdown() {
+        updater.shutdown();
+        for (int i = 0; i < shards.size(); i++) shards.get(i).shutdown();
+    }
+
+}
@@ -0,0 +1,68 @@
+package net.mslivo.core.engine.tools.engine;
+
+import java.util.Arrays;
+
+/**
+ * Outgoing messages of one shard. Messages sent during a tick are delivered as inputs to the target shards
+ * after all shards finished that tick, in shard order and then in send order.
+ */
+public class AppEngineShardMailbox {
+    static final int TARGET_ALL = -1;
+    private final int shard;
+    private int[] targets;
+    private int[] types;
+    private Object[][] params;
+    private int size;
+
+    AppEngineShardMailbox(int shard) {
+        this.shard = shard;
+        this.targets = new int[16];
+        this.types = new int[16];
+        this.params = new Object[16][];
+        this.size = 0;
+    }
+
+    public void send(int targetShard, int type, Object... params) {
+        if (size == targets.length) {
+            targets = Arrays.copyOf(targets, size * 2);
+            types = Arrays.copyOf(types, size * 2);
+            this.params = Arrays.copyOf(this.params, size * 2);
+        }
+        targets[size] = targetShard;
+        types[size] = type;
+        this.params[size] = params;
+        size++;
+    }
+
+    /**
+     * Sends to all other shards.
+     */
+    public void broadcast(int type, Object... params) {
+        send(TARGET_ALL, type, params);
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int target(int index) {
+        return targets[index];
+    }
+
+    int type(int index) {
+        return types[index];
+    }
+
+    Object[] params(int index) {
+        return params[index];
+    }
+
+    void clear() {
+        Arrays.fill(params, 0, size, null);
+        size = 0;
+    }
+}
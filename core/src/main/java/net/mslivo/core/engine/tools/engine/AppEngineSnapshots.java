@@ -0,0 +1,134 @@
+package net.mslivo.core.engine.tools.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Ring of the last n tick states plus the inputs that were applied during those ticks.
+ * The state for tick t is the data before tick t+1 was processed.
+ * Restoring tick t drops the newer states, their inputs are kept for resimulation until a regular tick diverges from them.
+ */
+class AppEngineSnapshots<D> {
+    private final AppEngine<?, D> engine;
+    private final AppEngineDataCopier<D> dataCopier;
+    private final ArrayList<D> states;
+    private final long[] stateTicks;
+    private final long[] inputTicks;
+    private long latestStateTick;
+    private long latestInputTick;
+    private final ArrayList<ArrayList<AppEngine.EngineIO>> inputs;
+    private final ArrayDeque<AppEngine.EngineIO> inputPool;
+    private long lastCaptureNanos;
+    private long totalCaptureNanos;
+    private long captures;
+
+    AppEngineSnapshots(AppEngine<?, D> engine, int capacity, AppEngineDataCopier<D> dataCopier) {
+        capacity = Math.max(capacity, 1);
+        this.engine = engine;
+        this.dataCopier = dataCopier;
+        this.states = new ArrayList<>(capacity);
+        this.stateTicks = new long[capacity];
+        this.inputTicks = new long[capacity];
+        this.inputs = new ArrayList<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            states.add(dataCopier.provideNewInstance());
+            stateTicks[i] = -1;
+            inputTicks[i] = -1;
+            inputs.add(new ArrayList<>());
+        }
+        this.inputPool = new ArrayDeque<>();
+        this.latestStateTick = -1;
+        this.latestInputTick = -1;
+        this.lastCaptureNanos = 0;
+        this.totalCaptureNanos = 0;
+        this.captures = 0;
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % stateTicks.length);
+    }
+
+    /* Regular tick, new inputs are recorded and newer recorded inputs belong to an abandoned timeline */
+    void capture(long tick, D data) {
+        final long startTime = System.nanoTime();
+        copyState(tick, data);
+        for (long t = Math.max(tick + 1, latestInputTick - inputTicks.length + 1); t <= latestInputTick; t++) {
+            int slot = slot(t);
+            if (inputTicks[slot] == t) releaseInputs(slot);
+        }
+        int slot = slot(tick);
+        releaseInputs(slot);
+        inputTicks[slot] = tick;
+        latestInputTick = tick;
+        lastCaptureNanos = System.nanoTime() - startTime;
+        totalCaptureNanos += lastCaptureNanos;
+        captures++;
+    }
+
+    /* Resimulated tick, the recorded inputs are replayed and kept */
+    void recapture(long tick, D data) {
+        copyState(tick, data);
+    }
+
+    private void copyState(long tick, D data) {
+        int slot = slot(tick);
+        dataCopier.copy(data, states.get(slot));
+        stateTicks[slot] = tick;
+        latestStateTick = tick;
+    }
+
+    private void releaseInputs(int slot) {
+        ArrayList<AppEngine.EngineIO> slotInputs = inputs.get(slot);
+        for (int i = 0; i < slotInputs.size(); i++) {
+            AppEngine.EngineIO engineIO = slotInputs.get(i);
+            engineIO.params = null;
+            if (engineIO.typedParams != null) engineIO.typedParams.clear();
+            inputPool.add(engineIO);
+        }
+        slotInputs.clear();
+        inputTicks[slot] = -1;
+    }
+
+    void record(long tick, AppEngine.EngineIO engineIO) {
+        AppEngine.EngineIO recorded = inputPool.isEmpty() ? new AppEngine.EngineIO() : inputPool.poll();
+        recorded.type = engineIO.type;
+        recorded.params = engineIO.params;
+        recorded.typed = engineIO.typed;
+        if (engineIO.typed) {
+            if (recorded.typedParams == null) recorded.typedParams = new TypedParams(engine, recorded, false);
+            recorded.typedParams.copyFrom(engineIO.typedParams);
+        }
+        inputs.get(slot(tick)).add(recorded);
+    }
+
+    boolean has(long tick) {
+        return tick >= 0 && stateTicks[slot(tick)] == tick;
+    }
+
+    boolean hasInputs(long tick) {
+        return tick >= 0 && inputTicks[slot(tick)] == tick;
+    }
+
+    void restore(long tick, D data) {
+        dataCopier.copy(states.get(slot(tick)), data);
+        // States after tick are from the abandoned timeline
+        for (long t = Math.max(tick + 1, latestStateTick - stateTicks.length + 1); t <= latestStateTick; t++) {
+            int slot = slot(t);
+            if (stateTicks[slot] == t) stateTicks[slot] = -1;
+        }
+        latestStateTick = tick;
+    }
+
+    ArrayList<AppEngine.EngineIO> inputs(long tick) {
+        return inputs.get(slot(tick));
+    }
+
+    long getLastCaptureNanos() {
+        return lastCaptureNanos;
+    }
+
+    long getAverageCaptureNanos() {
+        return captures > 0 ? totalCaptureNanos / captures : 0;
+    }
+
+}
@@ -0,0 +1,120 @@
+package net.mslivo.core.engine.tools.engine;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Runs as many AppEngine ticks per frame as needed to keep up with real time, limited by a wall time budget.
+ * Ticks that could not be run within the budget are carried over to the next frames, unless the backlog
+ * exceeds maxBacklogTicks, then they are dropped and reported.
+ * Call {@link #update()} once per frame and use {@link #getAlpha()} to interpolate rendering between ticks.
+ */
+public class AppEngineTickScheduler {
+    private final AppEngine<?, ?> appEngine;
+    private long tickNanos;
+    private long budgetNanos;
+    private int maxBacklogTicks;
+    private long accumulator;
+    private long lastTime;
+    private int lastFrameTicks;
+    private long lastFrameDroppedTicks;
+    private long droppedTicks;
+    private LongConsumer droppedTicksListener;
+
+    public AppEngineTickScheduler(AppEngine<?, ?> appEngine, int ticksPerSecond) {
+        this(appEngine, ticksPerSecond, 8f, ticksPerSecond);
+    }
+
+    public AppEngineTickScheduler(AppEngine<?, ?> appEngine, int ticksPerSecond, float budgetMillis, int maxBacklogTicks) {
+        this.appEngine = appEngine;
+        setTicksPerSecond(ticksPerSecond);
+        setBudgetMillis(budgetMillis);
+        setMaxBacklogTicks(maxBacklogTicks);
+        this.lastTime = -1;
+        this.accumulator = 0;
+        this.droppedTicks = 0;
+        this.droppedTicksListener = null;
+    }
+
+    /**
+     * @return the number of ticks that were run this frame
+     */
+    public int update() {
+        final long now = System.nanoTime();
+        if (lastTime == -1) lastTime = now;
+        accumulator += (now - lastTime);
+        lastTime = now;
+
+        int ticks = 0;
+        while (accumulator >= tickNanos) {
+            appEngine.update();
+            accumulator -= tickNanos;
+            ticks++;
+            if ((System.nanoTime() - now) >= budgetNanos) break;
+        }
+
+        // Drop backlog that can't be caught up
+        lastFrameDroppedTicks = 0;
+        final long maxBacklogNanos = tickNanos * maxBacklogTicks;
+        if (accumulator > maxBacklogNanos) {
+            lastFrameDroppedTicks = (accumulator - maxBacklogNanos) / tickNanos;
+            accumulator -= lastFrameDroppedTicks * tickNanos;
+            if (lastFrameDroppedTicks > 0) {
+                droppedTicks += lastFrameDroppedTicks;
+                if (droppedTicksListener != null) droppedTicksListener.accept(lastFrameDroppedTicks);
+            }
+        }
+        lastFrameTicks = ticks;
+        return ticks;
+    }
+
+    /**
+     * Progress towards the next tick between 0 and 1, can be used to interpolate between the last two tick states.
+     */
+    public float getAlpha() {
+        return Math.min(accumulator / (float) tickNanos, 1f);
+    }
+
+    /**
+     * Number of ticks the simulation is currently behind real time.
+     */
+    public long getBacklogTicks() {
+        return accumulator / tickNanos;
+    }
+
+    public int getLastFrameTicks() {
+        return lastFrameTicks;
+    }
+
+    public long getLastFrameDroppedTicks() {
+        return lastFrameDroppedTicks;
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    public void setDroppedTicksListener(LongConsumer droppedTicksListener) {
+        this.droppedTicksListener = droppedTicksListener;
+    }
+
+    public final void setTicksPerSecond(int ticksPerSecond) {
+        this.tickNanos = 1_000_000_000L / Math.max(ticksPerSecond, 1);
+    }
+
+    public final void setBudgetMillis(float budgetMillis) {
+        this.budgetNanos = (long) (Math.max(budgetMillis, 0f) * 1_000_000L);
+    }
+
+    public final void setMaxBacklogTicks(int maxBacklogTicks) {
+        this.maxBacklogTicks = Math.max(maxBacklogTicks, 1);
+    }
+
+    /**
+     * Discards accumulated time, e.g. after loading or when resuming from pause.
+     */
+    public void reset() {
+        this.lastTime = -1;
+        this.accumulator = 0;
+    }
+
+}
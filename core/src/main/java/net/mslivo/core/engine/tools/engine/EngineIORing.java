@@ -0,0 +1,78 @@
+package net.mslivo.core.engine.tools.engine;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free single producer / single consumer ring.
+ */
+final class EngineIORing<T> {
+    private static final int PUT_SPINS = 1024;
+    private static final long PUT_PARK_NANOS = 100_000;
+    private final ArrayList<T> items;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+    private volatile boolean closed;
+
+    EngineIORing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) this.items.add(null);
+        this.capacity = size;
+        this.mask = size - 1;
+        this.head = new AtomicLong(0);
+        this.tail = new AtomicLong(0);
+        this.closed = false;
+    }
+
+    /* Producer */
+    boolean offer(T item) {
+        final long tail = this.tail.get();
+        if (tail - head.get() == capacity) return false;
+        this.items.set((int) tail & mask, item);
+        this.tail.lazySet(tail + 1);
+        return true;
+    }
+
+    /*
+     * Producer, waits for the consumer if the ring is full.
+     * Returns false without adding the item once the ring is closed, so a producer never waits for a consumer that is gone.
+     */
+    boolean put(T item) {
+        int spins = 0;
+        while (!closed) {
+            if (offer(item)) return true;
+            if (spins < PUT_SPINS) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PUT_PARK_NANOS);
+            }
+        }
+        return false;
+    }
+
+    /* Consumer */
+    T poll() {
+        final long head = this.head.get();
+        if (head == tail.get()) return null;
+        final int index = (int) head & mask;
+        T item = this.items.get(index);
+        this.items.set(index, null);
+        this.head.lazySet(head + 1);
+        return item;
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /* Waiting and future put calls fail, offer and poll keep working */
+    void close() {
+        this.closed = true;
+    }
+
+}
@@ -2,4 +2,13 @@ package net.mslivo.core.engine.tools.engine;
 
 public interface Output {
     void add(int type, Object... params);
+
+    /**
+     * Allocation free output, values are written to the returned params which must be submitted.
+     * Outputs that don't override this fall back to add(type, params) with the boxed values,
+     * ordered ints, longs, floats, objects.
+     */
+    default TypedParams addTyped(int type) {
+        return new TypedParams(this, type);
+    }
 }
@@ -0,0 +1,138 @@
+package net.mslivo.core.engine.tools.engine;
+
+import java.util.Arrays;
+
+/**
+ * Allocation free alternative to varargs params. Values are stored in reusable primitive slots
+ * and read back by index per type, e.g. engine.inputTyped(MOVE).putInt(id).putFloat(x).putFloat(y).submit().
+ */
+public final class TypedParams {
+    private final AppEngine<?, ?> engine;
+    private final AppEngine.EngineIO engineIO;
+    private final boolean output;
+    private final Output fallbackOutput;
+    private final int fallbackType;
+    private int[] ints;
+    private long[] longs;
+    private float[] floats;
+    private Object[] objects;
+    private int intCount, longCount, floatCount, objectCount;
+
+    TypedParams(AppEngine<?, ?> engine, AppEngine.EngineIO engineIO, boolean output) {
+        this(engine, engineIO, output, null, -1);
+    }
+
+    /* Not pooled, submit forwards to fallbackOutput.add */
+    TypedParams(Output fallbackOutput, int fallbackType) {
+        this(null, null, true, fallbackOutput, fallbackType);
+    }
+
+    private TypedParams(AppEngine<?, ?> engine, AppEngine.EngineIO engineIO, boolean output, Output fallbackOutput, int fallbackType) {
+        this.engine = engine;
+        this.engineIO = engineIO;
+        this.output = output;
+        this.fallbackOutput = fallbackOutput;
+        this.fallbackType = fallbackType;
+        this.ints = new int[4];
+        this.longs = new long[2];
+        this.floats = new float[4];
+        this.objects = new Object[2];
+        clear();
+    }
+
+    void clear() {
+        Arrays.fill(objects, 0, objectCount, null);
+        this.intCount = 0;
+        this.longCount = 0;
+        this.floatCount = 0;
+        this.objectCount = 0;
+    }
+
+    void copyFrom(TypedParams other) {
+        clear();
+        for (int i = 0; i < other.intCount; i++) putInt(other.ints[i]);
+        for (int i = 0; i < other.longCount; i++) putLong(other.longs[i]);
+        for (int i = 0; i < other.floatCount; i++) putFloat(other.floats[i]);
+        for (int i = 0; i < other.objectCount; i++) putObject(other.objects[i]);
+    }
+
+    /* ------- Write ------- */
+
+    public TypedParams putInt(int value) {
+        if (intCount == ints.length) ints = Arrays.copyOf(ints, intCount * 2);
+        ints[intCount++] = value;
+        return this;
+    }
+
+    public TypedParams putLong(long value) {
+        if (longCount == longs.length) longs = Arrays.copyOf(longs, longCount * 2);
+        longs[longCount++] = value;
+        return this;
+    }
+
+    public TypedParams putFloat(float value) {
+        if (floatCount == floats.length) floats = Arrays.copyOf(floats, floatCount * 2);
+        floats[floatCount++] = value;
+        return this;
+    }
+
+    public TypedParams putObject(Object value) {
+        if (objectCount == objects.length) objects = Arrays.copyOf(objects, objectCount * 2);
+        objects[objectCount++] = value;
+        return this;
+    }
+
+    public void submit() {
+        if (fallbackOutput != null) {
+            fallbackOutput.add(fallbackType, toParams());
+        } else {
+            engine.submitTyped(engineIO, output);
+        }
+    }
+
+    /* Boxed values for the untyped path, ordered ints, longs, floats, objects */
+    Object[] toParams() {
+        Object[] params = new Object[intCount + longCount + floatCount + objectCount];
+        int p = 0;
+        for (int i = 0; i < intCount; i++) params[p++] = ints[i];
+        for (int i = 0; i < longCount; i++) params[p++] = longs[i];
+        for (int i = 0; i < floatCount; i++) params[p++] = floats[i];
+        for (int i = 0; i < objectCount; i++) params[p++] = objects[i];
+        return params;
+    }
+
+    /* ------- Read ------- */
+
+    public int getInt(int index) {
+        return ints[index];
+    }
+
+    public long getLong(int index) {
+        return longs[index];
+    }
+
+    public float getFloat(int index) {
+        return floats[index];
+    }
+
+    public Object getObject(int index) {
+        return objects[index];
+    }
+
+    public int intCount() {
+        return intCount;
+    }
+
+    public int longCount() {
+        return longCount;
+    }
+
+    public int floatCount() {
+        return floatCount;
+    }
+
+    public int objectCount() {
+        return objectCount;
+    }
+
+}
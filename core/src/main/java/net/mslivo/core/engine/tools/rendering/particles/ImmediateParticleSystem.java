@@ -1,13 +1,14 @@
 package net.mslivo.core.engine.tools.rendering.particles;
 
 import com.badlogic.gdx.graphics.Color;
+import net.mslivo.core.engine.media_manager.media.CMedia;
 import net.mslivo.core.engine.ui_engine.render.ImmediateRenderer;
 
 /*
  * Particle System must be extended and implemented
  */
 public abstract class ImmediateParticleSystem<T> extends ParticleSystem<T> {
-    private Color backup;
+    private boolean pointSprites;
 
     public ImmediateParticleSystem(int particleLimit) {
         this(particleLimit, null);
@@ -15,42 +16,62 @@ public abstract class ImmediateParticleSystem<T> extends ParticleSystem<T> {
 
     public ImmediateParticleSystem(int particleLimit, ParticleDataProvider<T> particleDataProvider) {
         super(particleLimit, particleDataProvider);
-        backup = new Color();
+        this.pointSprites = false;
+    }
+
+    /**
+     * Point sprite mode uses particle.scaleX as per-vertex point size, otherwise points are 1 pixel.
+     * Combine with ImmediateRenderer.setPointSprites(true) to draw soft round or textured sprites instead of squares.
+     */
+    public void setPointSprites(boolean pointSprites) {
+        this.pointSprites = pointSprites;
+    }
+
+    public boolean isPointSprites() {
+        return pointSprites;
     }
 
     public void render(ImmediateRenderer immediateRenderer) {
         if (particles.size() == 0) return;
-        backup.r = immediateRenderer.getVertexColor().r;
-        backup.g = immediateRenderer.getVertexColor().g;
-        backup.b = immediateRenderer.getVertexColor().b;
-        backup.a = immediateRenderer.getVertexColor().a;
 
-        for (int i = 0; i < particles.size(); i++) {
-            Particle<T> particle = particles.get(i);
+        // performance: color & size are written per vertex, no renderer state changes
+        final int renderCount = renderCount();
+        for (int i = 0; i < renderCount; i++) {
+            Particle<T> particle = renderParticle(i);
             if (!particle.visible) continue;
-            immediateRenderer.setColor(particle.r, particle.g, particle.b, particle.a);
             switch (particle.type) {
                 case IMMEDAITE_POINT -> {
-                    immediateRenderer.vertex(particle.x, particle.y);
+                    immediateRenderer.vertex(particle.x, particle.y, 0f,
+                            Color.toFloatBits(particle.r, particle.g, particle.b, particle.a),
+                            pointSprites ? particle.scaleX : 1f);
                 }
                 default -> {
                     throw new RuntimeException("Particle Type " + particle.type.name() + " not supported by " + this.getClass().getSimpleName());
                 }
             }
         }
-        immediateRenderer.setVertexColor(backup);
     }
 
+    @Override
+    ParticleType emitterParticleType(CMedia appearance) {
+        return ParticleType.IMMEDAITE_POINT;
+    }
 
     /* ------- Point ------- */
     protected Particle<T> addParticle(float x, float y, float r, float g, float b) {
-        Particle<T> particle = particleNew(ParticleType.IMMEDAITE_POINT, x, y, r, g, b, 1f, 0, 0, 0, 0, 0, 0, null, null, null, 0, true);
+        Particle<T> particle = particleNew(ParticleType.IMMEDAITE_POINT, x, y, r, g, b, 1f, 0, 1f, 1f, 0, 0, 0, null, null, null, 0, true);
         addParticleToSystem(particle);
         return particle;
     }
 
     protected Particle<T> addParticle(float x, float y, float r, float g, float b, float a) {
-        Particle<T> particle = particleNew(ParticleType.IMMEDAITE_POINT, x, y, r, g, b, a, 0, 0, 0, 0, 0, 0, null, null, null, 0, true);
+        Particle<T> particle = particleNew(ParticleType.IMMEDAITE_POINT, x, y, r, g, b, a, 0, 1f, 1f, 0, 0, 0, null, null, null, 0, true);
+        addParticleToSystem(particle);
+        return particle;
+    }
+
+    protected Particle<T> addParticle(float x, float y, float r, float g, float b, float a, float size) {
+        Particle<T> particle = particleNew(ParticleType.IMMEDAITE_POINT, x, y, r, g, b, a, 0, size, size, 0, 0, 0, null, null, null, 0, true);
         addParticleToSystem(particle);
         return particle;
     }
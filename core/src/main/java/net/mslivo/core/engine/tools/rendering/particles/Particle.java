@@ -1,5 +1,6 @@
 package net.mslivo.core.engine.tools.rendering.particles;
 
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import net.mslivo.core.engine.media_manager.media.CMediaFont;
 import net.mslivo.core.engine.media_manager.media.CMediaSprite;
 
@@ -15,5 +16,15 @@ public class Particle<D> {
     public String text;
     public float animation_offset;
     public boolean visible;
+    public int physics_index;
     public D data;
+    int bin_index;
+    long update_tick;
+    BitmapFontCache font_cache;
+    CMediaFont font_cache_font;
+    String font_cache_text;
+    float font_cache_color;
+    ParticleEmitter emitter;
+    float emitter_age, emitter_lifetime;
+    float emitter_velocity_x, emitter_velocity_y;
 }
@@ -0,0 +1,111 @@
+package net.mslivo.core.engine.tools.rendering.particles;
+
+import net.mslivo.core.engine.tools.Tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Uniform grid over a world rectangle. Particles are sorted into bins by position,
+ * particles outside the world rectangle are clamped into the border bins.
+ */
+class ParticleBins {
+    final float world_x, world_y;
+    final float bin_size;
+    final int bins_x, bins_y;
+    private final int[] binStart;
+    private final int[] binCursor;
+    private final int[] binOrder;
+    private final int[] visibleOrder;
+    private int visibleCount;
+    boolean view_enabled;
+    int view_x1, view_y1, view_x2, view_y2;
+    int offscreenUpdateInterval;
+    boolean dirty;
+
+    ParticleBins(int capacity, float world_x, float world_y, float world_width, float world_height, float bin_size) {
+        this.world_x = world_x;
+        this.world_y = world_y;
+        this.bin_size = Math.max(bin_size, 1f);
+        this.bins_x = Math.max((int) Math.ceil(world_width / this.bin_size), 1);
+        this.bins_y = Math.max((int) Math.ceil(world_height / this.bin_size), 1);
+        this.binStart = new int[(bins_x * bins_y) + 1];
+        this.binCursor = new int[(bins_x * bins_y) + 1];
+        this.binOrder = new int[capacity];
+        this.visibleOrder = new int[capacity];
+        this.visibleCount = 0;
+        this.view_enabled = false;
+        this.offscreenUpdateInterval = 1;
+        this.dirty = true;
+    }
+
+    int binX(float x) {
+        return Tools.Calc.inBounds((int) ((x - world_x) / bin_size), 0, bins_x - 1);
+    }
+
+    int binY(float y) {
+        return Tools.Calc.inBounds((int) ((y - world_y) / bin_size), 0, bins_y - 1);
+    }
+
+    void setView(float x, float y, float width, float height) {
+        this.view_x1 = binX(x);
+        this.view_y1 = binY(y);
+        this.view_x2 = binX(x + width);
+        this.view_y2 = binY(y + height);
+        this.view_enabled = true;
+        this.dirty = true;
+    }
+
+    void clearView() {
+        this.view_enabled = false;
+        this.dirty = true;
+    }
+
+    int binIndex(Particle<?> particle) {
+        return (binY(particle.y) * bins_x) + binX(particle.x);
+    }
+
+    boolean isInView(Particle<?> particle) {
+        if (!view_enabled) return true;
+        int bx = binX(particle.x);
+        int by = binY(particle.y);
+        return bx >= view_x1 && bx <= view_x2 && by >= view_y1 && by <= view_y2;
+    }
+
+    /* Counting sort of particle indices by bin, then collects all indices of bins inside the view */
+    void rebuild(ArrayList<? extends Particle<?>> particles) {
+        final int size = particles.size();
+        Arrays.fill(binStart, 0);
+        for (int i = 0; i < size; i++) {
+            Particle<?> particle = particles.get(i);
+            particle.bin_index = binIndex(particle);
+            binStart[particle.bin_index + 1]++;
+        }
+        for (int b = 1; b < binStart.length; b++) binStart[b] += binStart[b - 1];
+        System.arraycopy(binStart, 0, binCursor, 0, binStart.length);
+        for (int i = 0; i < size; i++) {
+            Particle<?> particle = particles.get(i);
+            binOrder[binCursor[particle.bin_index]++] = i;
+        }
+
+        int x1 = view_enabled ? view_x1 : 0, y1 = view_enabled ? view_y1 : 0;
+        int x2 = view_enabled ? view_x2 : bins_x - 1, y2 = view_enabled ? view_y2 : bins_y - 1;
+        visibleCount = 0;
+        for (int by = y1; by <= y2; by++) {
+            // bins of one row are contiguous
+            int from = binStart[(by * bins_x) + x1];
+            int to = binStart[(by * bins_x) + x2 + 1];
+            System.arraycopy(binOrder, from, visibleOrder, visibleCount, to - from);
+            visibleCount += (to - from);
+        }
+        dirty = false;
+    }
+
+    int visibleCount() {
+        return visibleCount;
+    }
+
+    int visibleIndex(int index) {
+        return visibleOrder[index];
+    }
+}
@@ -0,0 +1,51 @@
+package net.mslivo.core.engine.tools.rendering.particles;
+
+import java.util.Arrays;
+
+/**
+ * Piecewise linear curve over a particles lifetime (0 = spawn, 1 = death).
+ */
+public class ParticleCurve {
+    private float[] times;
+    private float[] values;
+    private int size;
+
+    public ParticleCurve(float value) {
+        this.times = new float[2];
+        this.values = new float[2];
+        this.size = 0;
+        add(0f, value);
+    }
+
+    public ParticleCurve(float start, float end) {
+        this(start);
+        add(1f, end);
+    }
+
+    /**
+     * Keys must be added in ascending time order.
+     */
+    public final ParticleCurve add(float time, float value) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        times[size] = time;
+        values[size] = value;
+        size++;
+        return this;
+    }
+
+    public float evaluate(float time) {
+        if (size == 1 || time <= times[0]) return values[0];
+        for (int i = 1; i < size; i++) {
+            if (time <= times[i]) {
+                if (times[i] <= times[i - 1]) return values[i]; // zero length segment
+                float progress = (time - times[i - 1]) / (times[i] - times[i - 1]);
+                return values[i - 1] + ((values[i] - values[i - 1]) * progress);
+            }
+        }
+        return values[size - 1];
+    }
+
+}
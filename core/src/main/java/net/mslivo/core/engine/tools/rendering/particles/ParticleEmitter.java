@@ -0,0 +1,65 @@
+package net.mslivo.core.engine.tools.rendering.particles;
+
+import com.badlogic.gdx.graphics.Color;
+import net.mslivo.core.engine.media_manager.media.CMedia;
+
+/**
+ * Declarative particle source. Spawned particles are updated by the particle system itself:
+ * velocity, gravity and the color, alpha & scale curves are evaluated over the particles lifetime.
+ * Lifetime is measured in updates, speed, gravity and rotation_speed in units per update.
+ */
+public class ParticleEmitter {
+    public float x, y;
+    public boolean active;
+    public float spawn_rate;
+    public int burst_size;
+    public float lifetime_min, lifetime_max;
+    public float angle, spread;
+    public float speed_min, speed_max;
+    public float gravity_x, gravity_y;
+    public float rotation, rotation_speed;
+    public float origin_x, origin_y;
+    public ParticleCurve color_r, color_g, color_b;
+    public ParticleCurve alpha;
+    public ParticleCurve scale;
+    public CMedia appearance;
+    public String text;
+    public int array_index;
+    float spawn_accumulator;
+    ParticleType particle_type;
+    CMedia particle_type_appearance;
+
+    public ParticleEmitter(CMedia appearance) {
+        this.appearance = appearance;
+        this.active = true;
+        this.spawn_rate = 1f;
+        this.burst_size = 0;
+        this.lifetime_min = 60;
+        this.lifetime_max = 60;
+        this.angle = 90f;
+        this.spread = 360f;
+        this.speed_min = 1f;
+        this.speed_max = 1f;
+        this.color_r = null;
+        this.color_g = null;
+        this.color_b = null;
+        this.alpha = null;
+        this.scale = null;
+        this.spawn_accumulator = 0f;
+    }
+
+    public void setColor(Color start, Color end) {
+        this.color_r = new ParticleCurve(start.r, end.r);
+        this.color_g = new ParticleCurve(start.g, end.g);
+        this.color_b = new ParticleCurve(start.b, end.b);
+    }
+
+    public void setAlpha(float start, float end) {
+        this.alpha = new ParticleCurve(start, end);
+    }
+
+    public void setScale(float start, float end) {
+        this.scale = new ParticleCurve(start, end);
+    }
+
+}
@@ -0,0 +1,111 @@
+package net.mslivo.core.engine.tools.rendering.particles;
+
+/**
+ * Structure of Arrays storage for simple physics particles.
+ * position += velocity, velocity += gravity, alpha -= fade, lifetime -= 1 per update.
+ * Use {@link #create(int)} to get the SIMD implementation when jdk.incubator.vector is available.
+ * ParticlePhysicsVector is only compiled with the maven profile "vector" and only used when the module is added at runtime.
+ */
+abstract class ParticlePhysics {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_CLASS = "net.mslivo.core.engine.tools.rendering.particles.ParticlePhysicsVector";
+
+    final float[] x, y;
+    final float[] velocity_x, velocity_y;
+    final float[] a;
+    final float[] fade;
+    final float[] lifetime;
+    final Particle<?>[] owners;
+    final boolean vectorized;
+    int size;
+
+    ParticlePhysics(int capacity, boolean vectorized) {
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.velocity_x = new float[capacity];
+        this.velocity_y = new float[capacity];
+        this.a = new float[capacity];
+        this.fade = new float[capacity];
+        this.lifetime = new float[capacity];
+        this.owners = new Particle<?>[capacity];
+        this.vectorized = vectorized;
+        this.size = 0;
+    }
+
+    static ParticlePhysics create(int capacity) {
+        if (isVectorAPIAvailable()) {
+            try {
+                return (ParticlePhysics) Class.forName(VECTOR_CLASS).getDeclaredConstructor(int.class).newInstance(capacity);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // not compiled in or not usable, fall through to scalar
+            }
+        }
+        return new ParticlePhysicsScalar(capacity);
+    }
+
+    static boolean isVectorAPIAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    int add(Particle<?> particle, float velocity_x, float velocity_y, float fade, float lifetime) {
+        if (size >= owners.length) return -1;
+        int index = size;
+        this.x[index] = particle.x;
+        this.y[index] = particle.y;
+        this.a[index] = particle.a;
+        this.velocity_x[index] = velocity_x;
+        this.velocity_y[index] = velocity_y;
+        this.fade[index] = fade;
+        this.lifetime[index] = lifetime;
+        this.owners[index] = particle;
+        particle.physics_index = index;
+        size++;
+        return index;
+    }
+
+    void remove(Particle<?> particle) {
+        int index = particle.physics_index;
+        if (index < 0 || index >= size || owners[index] != particle) return;
+        int last = size - 1;
+        if (index != last) {
+            // swap last into the free slot to keep arrays dense
+            x[index] = x[last];
+            y[index] = y[last];
+            velocity_x[index] = velocity_x[last];
+            velocity_y[index] = velocity_y[last];
+            a[index] = a[last];
+            fade[index] = fade[last];
+            lifetime[index] = lifetime[last];
+            owners[index] = owners[last];
+            owners[index].physics_index = index;
+        }
+        owners[last] = null;
+        particle.physics_index = -1;
+        size--;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            owners[i].physics_index = -1;
+            owners[i] = null;
+        }
+        size = 0;
+    }
+
+    /* Copies integrated values back into the particle objects used for rendering */
+    void writeBack() {
+        for (int i = 0; i < size; i++) {
+            Particle<?> particle = owners[i];
+            particle.x = x[i];
+            particle.y = y[i];
+            particle.a = a[i];
+        }
+    }
+
+    boolean isExpired(Particle<?> particle) {
+        return particle.physics_index != -1 && lifetime[particle.physics_index] <= 0;
+    }
+
+    abstract void integrate(float gravity_x, float gravity_y);
+
+}
@@ -0,0 +1,26 @@
+package net.mslivo.core.engine.tools.rendering.particles;
+
+class ParticlePhysicsScalar extends ParticlePhysics {
+
+    ParticlePhysicsScalar(int capacity) {
+        super(capacity, false);
+    }
+
+    @Override
+    void integrate(float gravity_x, float gravity_y) {
+        integrateScalar(this, 0, size, gravity_x, gravity_y);
+    }
+
+    static void integrateScalar(ParticlePhysics physics, int from, int to, float gravity_x, float gravity_y) {
+        final float[] x = physics.x, y = physics.y, velocity_x = physics.velocity_x, velocity_y = physics.velocity_y;
+        final float[] a = physics.a, fade = physics.fade, lifetime = physics.lifetime;
+        for (int i = from; i < to; i++) {
+            x[i] += velocity_x[i];
+            y[i] += velocity_y[i];
+            velocity_x[i] += gravity_x;
+            velocity_y[i] += gravity_y;
+            a[i] = Math.max(a[i] - fade[i], 0f);
+            lifetime[i] -= 1f;
+        }
+    }
+}
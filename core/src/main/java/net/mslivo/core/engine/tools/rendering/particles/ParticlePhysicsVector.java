@@ -0,0 +1,38 @@
+package net.mslivo.core.engine.tools.rendering.particles;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ * Compiled with the maven profile "vector" only. Requires --add-modules jdk.incubator.vector at runtime, otherwise ParticlePhysicsScalar is used.
+ */
+class ParticlePhysicsVector extends ParticlePhysics {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    ParticlePhysicsVector(int capacity) {
+        super(capacity, true);
+    }
+
+    @Override
+    void integrate(float gravity_x, float gravity_y) {
+        final int upperBound = SPECIES.loopBound(size);
+        final FloatVector gravityX = FloatVector.broadcast(SPECIES, gravity_x);
+        final FloatVector gravityY = FloatVector.broadcast(SPECIES, gravity_y);
+        final FloatVector zero = FloatVector.zero(SPECIES);
+        final FloatVector one = FloatVector.broadcast(SPECIES, 1f);
+
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            FloatVector vx = FloatVector.fromArray(SPECIES, velocity_x, i);
+            FloatVector vy = FloatVector.fromArray(SPECIES, velocity_y, i);
+            FloatVector.fromArray(SPECIES, x, i).add(vx).intoArray(x, i);
+            FloatVector.fromArray(SPECIES, y, i).add(vy).intoArray(y, i);
+            vx.add(gravityX).intoArray(velocity_x, i);
+            vy.add(gravityY).intoArray(velocity_y, i);
+            FloatVector.fromArray(SPECIES, a, i).sub(FloatVector.fromArray(SPECIES, fade, i)).max(zero).intoArray(a, i);
+            FloatVector.fromArray(SPECIES, lifetime, i).sub(one).intoArray(lifetime, i);
+        }
+        // Tail
+        ParticlePhysicsScalar.integrateScalar(this, i, size, gravity_x, gravity_y);
+    }
+}
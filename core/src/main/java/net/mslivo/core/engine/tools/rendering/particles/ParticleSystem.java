@@ -1,5 +1,8 @@
 package net.mslivo.core.engine.tools.rendering.particles;
 
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.MathUtils;
+import net.mslivo.core.engine.media_manager.media.CMedia;
 import net.mslivo.core.engine.media_manager.media.CMediaFont;
 import net.mslivo.core.engine.media_manager.media.CMediaSprite;
 import net.mslivo.core.engine.tools.Tools;
@@ -10,11 +13,16 @@ import java.util.function.Consumer;
 
 abstract class ParticleSystem<T>{
 
-    final ArrayList<Particle> particles;
-    final ArrayDeque<Particle> deleteQueue;
+    final ArrayList<Particle<T>> particles;
+    final ArrayDeque<Particle<T>> deleteQueue;
     final int particleLimit;
     final ArrayDeque<Particle<T>> particlePool;
     final ParticleDataProvider<T> particleDataProvider;
+    private ParticlePhysics physics;
+    private float physics_gravity_x, physics_gravity_y;
+    private ParticleBins bins;
+    private long updateTicks;
+    private final ArrayList<ParticleEmitter> emitters;
 
     ParticleSystem(int particleLimit, ParticleDataProvider<T> particleDataProvider){
         this.particles = new ArrayList<>();
@@ -22,9 +30,15 @@ abstract class ParticleSystem<T>{
         this.particleLimit = Tools.Calc.lowerBounds(particleLimit, 0);
         this.particleDataProvider = particleDataProvider;
         this.particlePool = new ArrayDeque<>(particleLimit);
+        this.physics = null;
+        this.physics_gravity_x = 0f;
+        this.physics_gravity_y = 0f;
+        this.bins = null;
+        this.updateTicks = 0;
+        this.emitters = new ArrayList<>();
     }
 
-    Particle particleNew(ParticleType type, float x, float y, float r, float g, float b, float a, float rotation, float scaleX, float scaleY, int array_index, float origin_x, float origin_y, CMediaSprite appearance, CMediaFont font, String text, float animation_offset, boolean visible) {
+    Particle<T> particleNew(ParticleType type, float x, float y, float r, float g, float b, float a, float rotation, float scaleX, float scaleY, int array_index, float origin_x, float origin_y, CMediaSprite appearance, CMediaFont font, String text, float animation_offset, boolean visible) {
         if (!canAddParticle()) return null;
         Particle<T> particle = particlePool.size() > 0 ? particlePool.pop() : new Particle<>();
         particle.type = type;
@@ -45,6 +59,10 @@ abstract class ParticleSystem<T>{
         particle.text = text;
         particle.animation_offset = animation_offset;
         particle.visible = visible;
+        particle.physics_index = -1;
+        particle.bin_index = -1;
+        particle.update_tick = updateTicks;
+        particle.emitter = null;
         if (this.particleDataProvider != null) {
             if (particle.data == null) particle.data = particleDataProvider.provideNewInstance();
         } else {
@@ -64,13 +82,16 @@ abstract class ParticleSystem<T>{
         if (particle == null) return;
         onParticleCreate(particle);
         particles.add(particle);
+        if (bins != null) bins.dirty = true;
         return;
     }
 
     void removeParticleFromSystem(Particle<T> particle) {
         if (particle == null) return;
         onParticleDestroy(particle);
+        if (particle.physics_index != -1) physics.remove(particle);
         particles.remove(particle);
+        if (bins != null) bins.dirty = true;
         // add back to pool
         particlePool.add(particle);
     }
@@ -97,21 +118,250 @@ abstract class ParticleSystem<T>{
     }
 
     public void shutdown() {
+        removeAllEmitters();
         removeAllParticles();
         particlePool.clear();
     }
 
+    /* ------- Physics ------- */
+
+    /**
+     * Enables the built-in physics kernel. x, y and a of particles added via addParticlePhysics
+     * are integrated in bulk before updateParticle is called. Uses SIMD when built with the "vector" profile
+     * and run with --add-modules jdk.incubator.vector, see isPhysicsVectorized().
+     */
+    protected void enablePhysics(float gravity_x, float gravity_y) {
+        if (this.physics == null) this.physics = ParticlePhysics.create(this.particleLimit);
+        setPhysicsGravity(gravity_x, gravity_y);
+    }
+
+    protected void setPhysicsGravity(float gravity_x, float gravity_y) {
+        this.physics_gravity_x = gravity_x;
+        this.physics_gravity_y = gravity_y;
+    }
+
+    /**
+     * Particle is removed automatically once lifetime (in updates) reaches 0.
+     */
+    protected boolean addParticlePhysics(Particle<T> particle, float velocity_x, float velocity_y, float fade, float lifetime) {
+        if (particle == null || this.physics == null || particle.physics_index != -1) return false;
+        return physics.add(particle, velocity_x, velocity_y, fade, lifetime) != -1;
+    }
+
+    public boolean isPhysicsEnabled() {
+        return this.physics != null;
+    }
+
+    public boolean isPhysicsVectorized() {
+        return this.physics != null && this.physics.vectorized;
+    }
+
+    /* ------- Spatial Binning ------- */
+
+    /**
+     * Sorts particles into a uniform grid of bin_size over the given world rectangle.
+     * With a view set, render only draws particles in bins that overlap the view.
+     * Bins are re-sorted after particles were added, removed or moved into another bin during update.
+     */
+    public void enableSpatialBinning(float world_x, float world_y, float world_width, float world_height, float bin_size) {
+        this.bins = new ParticleBins(this.particleLimit, world_x, world_y, world_width, world_height, bin_size);
+    }
+
+    public void disableSpatialBinning() {
+        this.bins = null;
+    }
+
+    public boolean isSpatialBinningEnabled() {
+        return this.bins != null;
+    }
+
+    public void setView(float x, float y, float width, float height) {
+        if (bins == null) return;
+        bins.setView(x, y, width, height);
+    }
+
+    public void setView(OrthographicCamera camera) {
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        setView(camera.position.x - (width / 2f), camera.position.y - (height / 2f), width, height);
+    }
+
+    public void clearView() {
+        if (bins == null) return;
+        bins.clearView();
+    }
+
+    /**
+     * Particles in bins outside the view are only updated every n-th update, staggered by bin.
+     * Skipped updates are caught up via updateParticle(particle, index, ticks).
+     */
+    public void setOffscreenUpdateInterval(int interval) {
+        if (bins == null) return;
+        bins.offscreenUpdateInterval = Tools.Calc.lowerBounds(interval, 1);
+    }
+
+    int renderCount() {
+        if (bins == null) return particles.size();
+        if (bins.dirty) bins.rebuild(particles);
+        return bins.visibleCount();
+    }
+
+    Particle<T> renderParticle(int index) {
+        return bins == null ? particles.get(index) : particles.get(bins.visibleIndex(index));
+    }
+
+    private boolean skipOffscreenUpdate(Particle<T> particle) {
+        if (bins == null || !bins.view_enabled || bins.offscreenUpdateInterval <= 1) return false;
+        if (bins.isInView(particle)) return false;
+        return ((updateTicks + bins.binIndex(particle)) % bins.offscreenUpdateInterval) != 0;
+    }
+
+    /* ------- Emitters ------- */
+
+    public void addEmitter(ParticleEmitter emitter) {
+        if (emitter == null || emitters.contains(emitter)) return;
+        if (!emitterResolveParticleType(emitter)) {
+            throw new RuntimeException("Emitter appearance " + (emitter.appearance != null ? emitter.appearance.getClass().getSimpleName() : "null") + " not supported by " + this.getClass().getSimpleName());
+        }
+        emitters.add(emitter);
+        emitterBurst(emitter);
+    }
+
+    public void removeEmitter(ParticleEmitter emitter) {
+        emitters.remove(emitter);
+    }
+
+    public void removeAllEmitters() {
+        emitters.clear();
+    }
+
+    public void emitterBurst(ParticleEmitter emitter) {
+        for (int i = 0; i < emitter.burst_size; i++) {
+            if (!emitterSpawn(emitter)) return;
+        }
+    }
+
+    /**
+     * @return null if the appearance is not supported
+     */
+    abstract ParticleType emitterParticleType(CMedia appearance);
+
+    private boolean emitterResolveParticleType(ParticleEmitter emitter) {
+        if (emitter.particle_type == null || emitter.particle_type_appearance != emitter.appearance) {
+            emitter.particle_type = emitterParticleType(emitter.appearance);
+            emitter.particle_type_appearance = emitter.appearance;
+        }
+        return emitter.particle_type != null;
+    }
+
+    private void updateEmitters() {
+        for (int i = 0; i < emitters.size(); i++) {
+            ParticleEmitter emitter = emitters.get(i);
+            if (!emitter.active) continue;
+            emitter.spawn_accumulator += emitter.spawn_rate;
+            while (emitter.spawn_accumulator >= 1f) {
+                emitter.spawn_accumulator -= 1f;
+                if (!emitterSpawn(emitter)) {
+                    emitter.spawn_accumulator = 0f;
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean emitterSpawn(ParticleEmitter emitter) {
+        // appearance was validated in addEmitter, an unsupported appearance set afterwards spawns nothing
+        if (!emitterResolveParticleType(emitter)) return false;
+        ParticleType type = emitter.particle_type;
+        CMediaSprite sprite = emitter.appearance instanceof CMediaSprite cMediaSprite ? cMediaSprite : null;
+        CMediaFont font = emitter.appearance instanceof CMediaFont cMediaFont ? cMediaFont : null;
+        float r = emitter.color_r != null ? emitter.color_r.evaluate(0f) : 1f;
+        float g = emitter.color_g != null ? emitter.color_g.evaluate(0f) : 1f;
+        float b = emitter.color_b != null ? emitter.color_b.evaluate(0f) : 1f;
+        float a = emitter.alpha != null ? emitter.alpha.evaluate(0f) : 1f;
+        float scale = emitter.scale != null ? emitter.scale.evaluate(0f) : 1f;
+        Particle<T> particle = particleNew(type, emitter.x, emitter.y, r, g, b, a, emitter.rotation, scale, scale, emitter.array_index, emitter.origin_x, emitter.origin_y, sprite, font, emitter.text, 0f, true);
+        if (particle == null) return false;
+        float angle = emitter.angle + MathUtils.random(-emitter.spread / 2f, emitter.spread / 2f);
+        float speed = MathUtils.random(emitter.speed_min, emitter.speed_max);
+        particle.emitter = emitter;
+        particle.emitter_age = 0f;
+        particle.emitter_lifetime = Math.max(MathUtils.random(emitter.lifetime_min, emitter.lifetime_max), 1f);
+        particle.emitter_velocity_x = MathUtils.cosDeg(angle) * speed;
+        particle.emitter_velocity_y = MathUtils.sinDeg(angle) * speed;
+        addParticleToSystem(particle);
+        return true;
+    }
+
+    private boolean updateEmitterParticle(Particle<T> particle, int ticks) {
+        ParticleEmitter emitter = particle.emitter;
+        particle.emitter_age += ticks;
+        if (particle.emitter_age >= particle.emitter_lifetime) return false;
+        float time = particle.emitter_age / particle.emitter_lifetime;
+        // closed form of ticks single steps: position advances by the velocity of every step
+        float gravitySteps = (ticks * (ticks - 1)) / 2f;
+        particle.x += (particle.emitter_velocity_x * ticks) + (emitter.gravity_x * gravitySteps);
+        particle.y += (particle.emitter_velocity_y * ticks) + (emitter.gravity_y * gravitySteps);
+        particle.emitter_velocity_x += emitter.gravity_x * ticks;
+        particle.emitter_velocity_y += emitter.gravity_y * ticks;
+        particle.rotation += emitter.rotation_speed * ticks;
+        if (emitter.color_r != null) particle.r = emitter.color_r.evaluate(time);
+        if (emitter.color_g != null) particle.g = emitter.color_g.evaluate(time);
+        if (emitter.color_b != null) particle.b = emitter.color_b.evaluate(time);
+        if (emitter.alpha != null) particle.a = emitter.alpha.evaluate(time);
+        if (emitter.scale != null) {
+            particle.scaleX = emitter.scale.evaluate(time);
+            particle.scaleY = particle.scaleX;
+        }
+        return true;
+    }
+
     public void update() {
+        if (emitters.size() > 0) updateEmitters();
         if (particles.size() == 0) return;
+        updateTicks++;
+        if (physics != null && physics.size > 0) {
+            physics.integrate(physics_gravity_x, physics_gravity_y);
+            physics.writeBack();
+        }
         for (int i = 0; i < particles.size(); i++) {
             Particle<T> particle = particles.get(i);
-            if (!updateParticle(particle, i)) {
+            if (physics != null && physics.isExpired(particle)) {
                 deleteQueue.add(particle);
+                continue;
             }
+            if (skipOffscreenUpdate(particle)) {
+                if (bins.binIndex(particle) != particle.bin_index) bins.dirty = true;
+                continue;
+            }
+            int ticks = (int) Tools.Calc.lowerBounds(updateTicks - particle.update_tick, 1);
+            particle.update_tick = updateTicks;
+            if (particle.emitter != null && !updateEmitterParticle(particle, ticks)) {
+                deleteQueue.add(particle);
+                continue;
+            }
+            if (!updateParticle(particle, i, ticks)) {
+                deleteQueue.add(particle);
+                continue;
+            }
+            // bins are only re-sorted when a particle moved into another bin
+            if (bins != null && !bins.dirty && bins.binIndex(particle) != particle.bin_index) bins.dirty = true;
         }
         deleteQueuedParticles();
     }
 
+    /**
+     * Called instead of updateParticle(particle, index) when ticks updates have passed since the last update of this particle,
+     * which happens for particles outside the view when an offscreen update interval is set.
+     * Calls updateParticle(particle, index) ticks times, override to advance the particle in one step.
+     */
+    protected boolean updateParticle(Particle<T> particle, int index, int ticks) {
+        for (int t = 0; t < ticks; t++) {
+            if (!updateParticle(particle, index)) return false;
+        }
+        return true;
+    }
+
     protected abstract void onParticleCreate(Particle<T> particle);
 
     protected abstract void onParticleDestroy(Particle<T> particle);
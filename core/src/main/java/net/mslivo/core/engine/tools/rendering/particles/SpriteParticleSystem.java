@@ -2,6 +2,7 @@ package net.mslivo.core.engine.tools.rendering.particles;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import net.mslivo.core.engine.media_manager.MediaManager;
 import net.mslivo.core.engine.media_manager.media.*;
 import net.mslivo.core.engine.ui_engine.render.SpriteRenderer;
@@ -12,7 +13,6 @@ import net.mslivo.core.engine.ui_engine.render.SpriteRenderer;
 public abstract class SpriteParticleSystem<T> extends ParticleSystem<T> {
     private final MediaManager mediaManager;
     private Color backup;
-    private Color backup_font;
 
     public SpriteParticleSystem(MediaManager mediaManager, int particleLimit) {
         this(mediaManager, particleLimit, null);
@@ -22,7 +22,6 @@ public abstract class SpriteParticleSystem<T> extends ParticleSystem<T> {
         super(particleLimit, particleDataProvider);
         this.mediaManager = mediaManager;
         backup = new Color();
-        backup_font = new Color();
     }
 
     public void render(SpriteRenderer batch) {
@@ -36,22 +35,26 @@ public abstract class SpriteParticleSystem<T> extends ParticleSystem<T> {
         backup.b = batch.getColor().b;
         backup.a = batch.getColor().a;
 
-        for (int i = 0; i < particles.size(); i++) {
-            Particle<T> particle = particles.get(i);
+        final int renderCount = renderCount();
+        for (int i = 0; i < renderCount; i++) {
+            Particle<T> particle = renderParticle(i);
             if (!particle.visible) continue;
             batch.setColor(particle.r, particle.g, particle.b, particle.a);
             switch (particle.type) {
                 case SPRITE_FONT -> {
                     if (particle.text != null && particle.font != null) {
-                        BitmapFont font = mediaManager.getCMediaFont(particle.font);
-                        backup_font.r = font.getColor().r;
-                        backup_font.g = font.getColor().g;
-                        backup_font.b = font.getColor().b;
-                        backup_font.a = font.getColor().a;
-                        // performance: dont use mediamanager
-                        font.setColor(particle.r, particle.g, particle.b, particle.a);
-                        font.draw(batch, particle.text, (particle.x + particle.font.offset_x), (particle.y + particle.font.offset_y));
-                        font.setColor(backup_font);
+                        // performance: text is laid out once, only translate & tint cached vertices
+                        if (particle.font_cache_text != particle.text || particle.font_cache_font != particle.font) {
+                            fontCacheLayout(particle);
+                        }
+                        BitmapFontCache fontCache = particle.font_cache;
+                        float color = Color.toFloatBits(particle.r, particle.g, particle.b, particle.a);
+                        if (color != particle.font_cache_color) {
+                            fontCache.setColors(color);
+                            particle.font_cache_color = color;
+                        }
+                        fontCache.setPosition((particle.x + particle.font.offset_x), (particle.y + particle.font.offset_y));
+                        fontCache.draw(batch);
                     }
                 }
                 case SPRITE_IMAGE -> {
@@ -74,6 +77,33 @@ public abstract class SpriteParticleSystem<T> extends ParticleSystem<T> {
         batch.setColor(backup);
     }
 
+    @Override
+    ParticleType emitterParticleType(CMedia appearance) {
+        if (appearance instanceof CMediaImage) return ParticleType.SPRITE_IMAGE;
+        if (appearance instanceof CMediaArray) return ParticleType.SPRITE_ARRAY;
+        if (appearance instanceof CMediaAnimation) return ParticleType.SPRITE_ANIMATION;
+        if (appearance instanceof CMediaCursor) return ParticleType.SPRITE_CURSOR;
+        if (appearance instanceof CMediaFont) return ParticleType.SPRITE_FONT;
+        return null;
+    }
+
+    private void fontCacheLayout(Particle<T> particle) {
+        BitmapFont font = mediaManager.getCMediaFont(particle.font);
+        if (particle.font_cache == null || particle.font_cache.getFont() != font) {
+            particle.font_cache = font.newFontCache();
+        }
+        particle.font_cache.setText(particle.text, 0, 0);
+        particle.font_cache_text = particle.text;
+        particle.font_cache_font = particle.font;
+        particle.font_cache_color = Float.NaN;
+    }
+
+    private Particle<T> addFontParticle(Particle<T> particle) {
+        if (particle != null && particle.text != null && particle.font != null) fontCacheLayout(particle);
+        addParticleToSystem(particle);
+        return particle;
+    }
+
 
     /* ------- Cursor ------- */
     protected Particle<T> addParticle(CMediaCursor cMediaCursor, float x, float y) {
@@ -98,20 +128,17 @@ public abstract class SpriteParticleSystem<T> extends ParticleSystem<T> {
 
     protected Particle<T> addParticle(CMediaFont cMediaFont, String text, float x, float y) {
         Particle<T> particle = particleNew(ParticleType.SPRITE_FONT, x, y, 1f, 1f, 1f, 1f, 0f, 1f, 1f, 0, 0f, 0f, null, cMediaFont, text, 0f, true);
-        addParticleToSystem(particle);
-        return particle;
+        return addFontParticle(particle);
     }
 
     protected Particle<T> addParticle(CMediaFont cMediaFont, String text, float x, float y, float r, float g, float b, float a) {
         Particle<T> particle = particleNew(ParticleType.SPRITE_FONT, x, y, r, g, b, a, 0f, 1f, 1f, 0, 0f, 0f, null, cMediaFont, text, 0f, true);
-        addParticleToSystem(particle);
-        return particle;
+        return addFontParticle(particle);
     }
 
     protected Particle<T> addParticle(CMediaFont cMediaFont, String text, float x, float y, float r, float g, float b, float a, float origin_x, float origin_y) {
         Particle<T> particle = particleNew(ParticleType.SPRITE_FONT, x, y, r, g, b, a, 0f, 1f, 1f, 0, origin_x, origin_y, null, cMediaFont, text, 0f, true);
-        addParticleToSystem(particle);
-        return particle;
+        return addFontParticle(particle);
     }
 
     /* ------- Image ------- */
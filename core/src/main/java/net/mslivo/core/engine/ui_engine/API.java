@@ -23,6 +23,7 @@ import net.mslivo.core.engine.ui_engine.enums.VIEWPORT_MODE;
 import net.mslivo.core.engine.ui_engine.input.InputMethod;
 import net.mslivo.core.engine.ui_engine.input.KeyCode;
 import net.mslivo.core.engine.ui_engine.render.misc.NestedFrameBuffer;
+import net.mslivo.core.engine.ui_engine.render.misc.TextLayoutCache;
 import net.mslivo.core.engine.ui_engine.ui.Window;
 import net.mslivo.core.engine.ui_engine.ui.WindowGenerator;
 import net.mslivo.core.engine.ui_engine.ui.actions.*;
@@ -173,63 +174,91 @@ public class API {
             window.updateActions = new ArrayList<>();
             window.addedToScreen = false;
             window.components = new ArrayList<>();
+            window.cacheLayer = false;
+            window.layerFrameBuffer = null;
+            window.layerTexture = null;
+            window.layerDirty = true;
+            window.layerAnimated = false;
+            window.layerGrayScale = false;
             return window;
         }
 
         public void addMessageReceiverAction(Window window, MessageReceiverAction messageReceiverAction) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || messageReceiverAction == null) return;
             window.messageReceiverActions.add(messageReceiverAction);
         }
 
         public void addMessageReceiverActions(Window window, MessageReceiverAction[] messageReceiverActions) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || messageReceiverActions == null) return;
             for (int i = 0; i < messageReceiverActions.length; i++)
                 addMessageReceiverAction(window, messageReceiverActions[i]);
         }
 
         public void removeMessageReceiverAction(Window window, MessageReceiverAction messageReceiverAction) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || messageReceiverAction == null) return;
             window.messageReceiverActions.remove(messageReceiverAction);
         }
 
         public void removeMessageReceiverActions(Window window, MessageReceiverAction[] messageReceiverActions) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || messageReceiverActions == null) return;
             for (int i = 0; i < messageReceiverActions.length; i++)
                 removeMessageReceiverAction(window, messageReceiverActions[i]);
         }
 
         public void removeAllMessageReceiverActions(Window window) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             removeMessageReceiverActions(window, window.messageReceiverActions.toArray(new MessageReceiverAction[]{}));
         }
 
 
         public void setEnforceScreenBounds(Window window, boolean enforceScreenBounds) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.enforceScreenBounds = enforceScreenBounds;
         }
 
         public void setIcon(Window window, CMediaSprite icon) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.icon = icon;
         }
 
         public void setIconIndex(Window window, int iconIndex) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.iconIndex = Tools.Calc.lowerBounds(iconIndex, 0);
         }
 
         public void setVisible(Window window, boolean visible) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.visible = visible;
         }
 
+        /**
+         * Renders the window into its own cached texture, which is only redrawn when the window or its components change.
+         * Changes made to component fields or list/grid items outside of the API need api.redrawUI().
+         */
+        public void setCacheLayer(Window window, boolean cacheLayer) {
+            UICommons.ui_setDirty(inputState, window);
+            if (window == null) return;
+            window.cacheLayer = cacheLayer;
+            if (!cacheLayer) UICommons.window_releaseLayer(inputState, window);
+        }
+
         public void setHasTitleBar(Window window, boolean hasTitleBar) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.hasTitleBar = hasTitleBar;
         }
 
         public void setWindowAction(Window window, WindowAction windowAction) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.windowAction = windowAction;
         }
@@ -241,32 +270,38 @@ public class API {
 
 
         public void setColorEverything(Window window, Color color) {
+            UICommons.ui_setDirty(inputState, window);
             setColorInternal(window, color, 2, null,
                     true, true, true, true);
         }
 
         public void setColorEverything(Window window, Color color, boolean windowColor, boolean componentColor1, boolean componentColor2, boolean comboBoxItems) {
+            UICommons.ui_setDirty(inputState, window);
             setColorInternal(window, color, 2, null,
                     windowColor, componentColor1, componentColor2, comboBoxItems);
         }
 
         public void setColorEverythingExcept(Window window, Color color, Class[] exceptions) {
+            UICommons.ui_setDirty(inputState, window);
             setColorInternal(window, color, 2, exceptions,
                     true, true, true, true);
         }
 
         public void setColorEverythingExcept(Window window, Color color, Class[] exceptions, boolean windowColor, boolean componentColor1, boolean componentColor2, boolean comboBoxItems) {
+            UICommons.ui_setDirty(inputState, window);
             setColorInternal(window, color, 2, exceptions,
                     windowColor, componentColor1, componentColor2, comboBoxItems);
         }
 
 
         public void setColorEverythingInclude(Window window, Color color, Class[] inclusions) {
+            UICommons.ui_setDirty(inputState, window);
             setColorInternal(window, color, 1, inclusions,
                     true, true, true, true);
         }
 
         public void setColorEverythingInclude(Window window, Color color, Class[] inclusions, boolean windowColor, boolean componentColor1, boolean componentColor2, boolean comboBoxItems) {
+            UICommons.ui_setDirty(inputState, window);
             setColorInternal(window, color, 1, inclusions,
                     windowColor, componentColor1, componentColor2, comboBoxItems);
         }
@@ -280,6 +315,7 @@ public class API {
         }
 
         public void setColorEverythingInclude(Window window, Color color, Class[] inclusions, boolean setColor1, boolean setColor2, boolean includeWindow) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             if (inclusions != null) {
                 for (int i = 0; i < window.components.size(); i++) {
@@ -305,26 +341,31 @@ public class API {
         }
 
         public void addComponent(Window window, Component component) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || component == null) return;
             UICommons.component_addToWindow(component, inputState, window);
         }
 
         public void addComponents(Window window, Component[] components) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || components == null) return;
             for (int i = 0; i < components.length; i++) addComponent(window, components[i]);
         }
 
         public void removeComponent(Window window, Component component) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || component == null) return;
             UICommons.component_removeFromWindow(component, window, inputState);
         }
 
         public void removeComponents(Window window, Component[] components) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || components == null) return;
             for (int i = 0; i < components.length; i++) removeComponent(window, components[i]);
         }
 
         public void removeAllComponents(Window window) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             removeComponents(window, window.components.toArray(new Component[]{}));
         }
@@ -344,61 +385,75 @@ public class API {
         }
 
         public void bringToFront(Window window) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             UICommons.window_bringToFront(inputState, window);
         }
 
         public void center(Window window) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             UICommons.window_center(inputState, window);
         }
 
         public void setFont(Window window, CMediaFont font) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.font = font;
         }
 
         public void addUpdateAction(Window window, UpdateAction updateAction) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || updateAction == null) return;
             window.updateActions.add(updateAction);
+            inputState.updateActionScheduler_dirty = true;
         }
 
         public void addUpdateActions(Window window, UpdateAction[] updateActions) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || updateActions == null) return;
             for (int i = 0; i < updateActions.length; i++) addUpdateAction(window, updateActions[i]);
         }
 
         public void removeUpdateAction(Window window, UpdateAction updateAction) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || updateAction == null) return;
             window.updateActions.remove(updateAction);
+            inputState.updateActionScheduler_dirty = true;
         }
 
         public void removeUpdateActions(Window window, UpdateAction[] updateActions) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || updateActions == null) return;
             for (int i = 0; i < updateActions.length; i++) removeUpdateAction(window, updateActions[i]);
         }
 
         public void removeAllUpdateActions(Window window) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             removeUpdateActions(window, window.updateActions.toArray(new UpdateAction[]{}));
         }
 
         public void setName(Window window, String name) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.name = Tools.Text.validString(name);
         }
 
         public void setData(Window window, Object data) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.data = data;
         }
 
         public void setColor(Window window, Color color) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null || color == null) return;
             setColor(window, color.r, color.g, color.b, color.a);
         }
 
         public void setColor(Window window, float r, float g, float b, float a) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.color_r = r;
             window.color_g = g;
@@ -407,57 +462,70 @@ public class API {
         }
 
         public void setAlpha(Window window, float transparency) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.color_a = transparency;
         }
 
         public void setAlwaysOnTop(Window window, boolean alwaysOnTop) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.alwaysOnTop = alwaysOnTop;
         }
 
         public void setFolded(Window window, boolean folded) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.folded = folded;
+            inputState.hitTestGrid_dirty = true;
         }
 
         public void setMoveAble(Window window, boolean moveAble) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.moveAble = moveAble;
         }
 
         public void setPosition(Window window, int x, int y) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             UICommons.window_setPosition(inputState, window, x, y);
         }
 
         public void setPositionGrid(Window window, int x, int y) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             setPosition(window, x * UIEngine.TILE_SIZE, y * UIEngine.TILE_SIZE);
         }
 
         public void move(Window window, int x, int y) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             setPosition(window, window.x + x, window.y + y);
         }
 
         public void moveX(Window window, int x) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             setPosition(window, window.x + x, window.y);
         }
 
         public void moveY(Window window, int y) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             setPosition(window, window.x, window.y + y);
         }
 
         public void setSize(Window window, int width, int height) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.width = Tools.Calc.lowerBounds(width, 2);
             window.height = Tools.Calc.lowerBounds(height, 2);
+            inputState.hitTestGrid_dirty = true;
         }
 
         public void setTitle(Window window, String title) {
+            UICommons.ui_setDirty(inputState, window);
             if (window == null) return;
             window.title = Tools.Text.validString(title);
         }
@@ -546,22 +614,26 @@ public class API {
             }
 
             public void setAppViewPortAction(AppViewPort appViewPort, AppViewPortAction appViewPortAction) {
+                UICommons.ui_setDirty(inputState, appViewPort);
                 if (appViewPort == null) return;
                 appViewPort.appViewPortAction = appViewPortAction;
             }
 
             public void setUpdateTime(AppViewPort appViewPort, int updateTime) {
+                UICommons.ui_setDirty(inputState, appViewPort);
                 if (appViewPort == null) return;
                 appViewPort.updateTime = Tools.Calc.lowerBounds(updateTime, 0);
             }
 
             public void setPosition(AppViewPort appViewPort,float x, float y) {
+                UICommons.ui_setDirty(inputState, appViewPort);
                 if(appViewPort == null)return;
                 UICommons.camera_setPosition(appViewPort.camera, x, y);
             }
 
 
             public void move(AppViewPort appViewPort,float x, float y) {
+                UICommons.ui_setDirty(inputState, appViewPort);
                 if(appViewPort == null)return;
                 UICommons.camera_setPosition(appViewPort.camera,
                         (appViewPort.camera.position.x + x),
@@ -570,6 +642,7 @@ public class API {
             }
 
             public void setX(AppViewPort appViewPort,float x) {
+                UICommons.ui_setDirty(inputState, appViewPort);
                 if(appViewPort == null)return;
                 UICommons.camera_setPosition(appViewPort.camera,
                         x,
@@ -578,6 +651,7 @@ public class API {
             }
 
             public void moveX(AppViewPort appViewPort,float x) {
+                UICommons.ui_setDirty(inputState, appViewPort);
                 if(appViewPort == null)return;
                 UICommons.camera_setPosition(appViewPort.camera,
                         (appViewPort.camera.position.x + x),
@@ -586,6 +660,7 @@ public class API {
             }
 
             public void setY(AppViewPort appViewPort,float y) {
+                UICommons.ui_setDirty(inputState, appViewPort);
                 if(appViewPort == null)return;
                 UICommons.camera_setPosition(appViewPort.camera,
                         appViewPort.camera.position.x,
@@ -594,6 +669,7 @@ public class API {
             }
 
             public void moveY(AppViewPort appViewPort,float y) {
+                UICommons.ui_setDirty(inputState, appViewPort);
                 if(appViewPort == null)return;
                 UICommons.camera_setPosition(appViewPort.camera,
                         appViewPort.camera.position.x,
@@ -602,6 +678,7 @@ public class API {
             }
 
             public void setZoom(AppViewPort appViewPort,float zoom) {
+                UICommons.ui_setDirty(inputState, appViewPort);
                 if(appViewPort == null)return;
                 UICommons.camera_setZoom(appViewPort.camera, zoom);
             }
@@ -633,21 +710,25 @@ public class API {
             }
 
             public void setFont(ProgressBar progressBar, CMediaFont font) {
+                UICommons.ui_setDirty(inputState, progressBar);
                 if (progressBar == null) return;
                 progressBar.font = font;
             }
 
             public void setProgress(ProgressBar progressBar, float progress) {
+                UICommons.ui_setDirty(inputState, progressBar);
                 if (progressBar == null) return;
                 UICommons.progressbar_setProgress(progressBar, progress);
             }
 
             public void setProgressText(ProgressBar progressBar, boolean progressText) {
+                UICommons.ui_setDirty(inputState, progressBar);
                 if (progressBar == null) return;
                 progressBar.progressText = progressText;
             }
 
             public void setProgressText2Decimal(ProgressBar progressBar, boolean progressText2Decimal) {
+                UICommons.ui_setDirty(inputState, progressBar);
                 if (progressBar == null) return;
                 progressBar.progressText2Decimal = progressText2Decimal;
             }
@@ -664,6 +745,7 @@ public class API {
             }
 
             public void setShapeType(Shape shape, ShapeType shapeType) {
+                UICommons.ui_setDirty(inputState, shape);
                 if (shape == null) return;
                 shape.shapeType = shapeType;
             }
@@ -706,26 +788,31 @@ public class API {
                     textButton.font = inputState.config.component_defaultFont;
                     textButton.icon = icon;
                     textButton.iconIndex = iconIndex;
+                    textButton.textLayoutCache = new TextLayoutCache();
                     UICommons.button_centerContent(mediaManager, textButton);
                     return textButton;
                 }
 
                 public void setIcon(TextButton textButton, CMediaSprite icon) {
+                    UICommons.ui_setDirty(inputState, textButton);
                     if (textButton == null) return;
                     textButton.icon = icon;
                 }
 
                 public void setIconIndex(TextButton textButton, int iconIndex) {
+                    UICommons.ui_setDirty(inputState, textButton);
                     if (textButton == null) return;
                     textButton.iconIndex = Tools.Calc.lowerBounds(iconIndex, 0);
                 }
 
                 public void setText(TextButton textButton, String text) {
+                    UICommons.ui_setDirty(inputState, textButton);
                     if (textButton == null) return;
                     textButton.text = Tools.Text.validString(text);
                 }
 
                 public void setFont(TextButton textButton, CMediaFont font) {
+                    UICommons.ui_setDirty(inputState, textButton);
                     if (textButton == null) return;
                     textButton.font = font;
                 }
@@ -761,11 +848,13 @@ public class API {
                 }
 
                 public void setImage(ImageButton imageButton, CMediaSprite image) {
+                    UICommons.ui_setDirty(inputState, imageButton);
                     if (imageButton == null) return;
                     imageButton.image = image;
                 }
 
                 public void setArrayIndex(ImageButton imageButton, int arrayIndex) {
+                    UICommons.ui_setDirty(inputState, imageButton);
                     if (imageButton == null) return;
                     imageButton.arrayIndex = Tools.Calc.lowerBounds(arrayIndex, 0);
                 }
@@ -773,11 +862,13 @@ public class API {
             }
 
             public void setButtonAction(Button button, ButtonAction buttonAction) {
+                UICommons.ui_setDirty(inputState, button);
                 if (button == null) return;
                 button.buttonAction = buttonAction;
             }
 
             public void press(Button button) {
+                UICommons.ui_setDirty(inputState, button);
                 if (button == null) return;
                 UICommons.button_press(button);
             }
@@ -788,6 +879,7 @@ public class API {
             }
 
             public void release(Button button) {
+                UICommons.ui_setDirty(inputState, button);
                 if (button == null) return;
                 UICommons.button_release(button);
             }
@@ -798,6 +890,7 @@ public class API {
             }
 
             public void toggle(Button button) {
+                UICommons.ui_setDirty(inputState, button);
                 if (button == null) return;
                 UICommons.button_toggle(button);
             }
@@ -808,6 +901,7 @@ public class API {
             }
 
             public void toggle(Button button, boolean pressed) {
+                UICommons.ui_setDirty(inputState, button);
                 if (button == null) return;
                 UICommons.button_toggle(button, pressed);
             }
@@ -818,11 +912,13 @@ public class API {
             }
 
             public void setButtonMode(Button button, ButtonMode buttonMode) {
+                UICommons.ui_setDirty(inputState, button);
                 if (button == null) return;
                 button.mode = buttonMode;
             }
 
             public void setContentOffset(Button button, int x, int y) {
+                UICommons.ui_setDirty(inputState, button);
                 if (button == null) return;
                 button.contentOffset_x = x;
                 button.contentOffset_y = y;
@@ -834,10 +930,12 @@ public class API {
             }
 
             public void setToggleDisabled(Button button, boolean disabled) {
+                UICommons.ui_setDirty(inputState, button);
                 button.toggleDisabled = disabled;
             }
 
             public void centerContent(Button button) {
+                UICommons.ui_setDirty(inputState, button);
                 UICommons.button_centerContent(mediaManager, button);
             }
 
@@ -883,26 +981,31 @@ public class API {
             }
 
             public void setText(CheckBox checkBox, String text) {
+                UICommons.ui_setDirty(inputState, checkBox);
                 if (checkBox == null) return;
                 checkBox.text = Tools.Text.validString(text);
             }
 
             public void setFont(CheckBox checkBox, CMediaFont font) {
+                UICommons.ui_setDirty(inputState, checkBox);
                 if (checkBox == null) return;
                 checkBox.font = font;
             }
 
             public void check(CheckBox checkBox) {
+                UICommons.ui_setDirty(inputState, checkBox);
                 if (checkBox == null) return;
                 UICommons.checkbox_check(checkBox);
             }
 
             public void unCheck(CheckBox checkBox) {
+                UICommons.ui_setDirty(inputState, checkBox);
                 if (checkBox == null) return;
                 UICommons.checkbox_unCheck(checkBox);
             }
 
             public void setChecked(CheckBox checkBox, boolean checked) {
+                UICommons.ui_setDirty(inputState, checkBox);
                 if (checkBox == null) return;
                 if (checked) {
                     check(checkBox);
@@ -912,11 +1015,13 @@ public class API {
             }
 
             public void setCheckBoxStyle(CheckBox checkBox, CheckBoxStyle checkBoxStyle) {
+                UICommons.ui_setDirty(inputState, checkBox);
                 if (checkBox == null) return;
                 checkBox.checkBoxStyle = checkBoxStyle;
             }
 
             public void setCheckBoxAction(CheckBox checkBox, CheckBoxAction checkBoxAction) {
+                UICommons.ui_setDirty(inputState, checkBox);
                 if (checkBox == null) return;
                 checkBox.checkBoxAction = checkBoxAction;
             }
@@ -969,24 +1074,29 @@ public class API {
             }
 
             public void setTabOffset(TabBar tabBar, int tabOffset) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null) return;
                 tabBar.tabOffset = Tools.Calc.lowerBounds(tabOffset, 0);
             }
 
             public void setBigIconMode(TabBar tabBar, boolean bigIconMode) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null) return;
                 tabBar.bigIconMode = bigIconMode;
             }
 
             public void setBorder(TabBar tabBar, boolean border) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 tabBar.border = border;
             }
 
             public void setBorderHeight(TabBar tabBar, int borderHeight) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 tabBar.borderHeight = Tools.Calc.lowerBounds(borderHeight, 0);
             }
 
             public void setTabBarAction(TabBar tabBar, TabBarAction tabBarAction) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null) return;
                 tabBar.tabBarAction = tabBarAction;
             }
@@ -1011,41 +1121,49 @@ public class API {
             }
 
             public void selectTab(TabBar tabBar, int index) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null) return;
                 UICommons.tabBar_selectTab(tabBar, index);
             }
 
             public void selectTab(TabBar tabBar, Tab tab) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null) return;
                 UICommons.tabBar_selectTab(tabBar, tab);
             }
 
             public void addTab(TabBar tabBar, Tab tab) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null || tab == null) return;
                 UICommons.tabBar_addTab(tabBar, tab);
             }
 
             public void addTab(TabBar tabBar, Tab tab, int index) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null || tab == null) return;
                 UICommons.tabBar_addTab(tabBar, tab, index);
             }
 
             public void addTabs(TabBar tabBar, Tab[] tabs) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null || tabs == null) return;
                 for (int i = 0; i < tabs.length; i++) addTab(tabBar, tabs[i]);
             }
 
             public void removeTab(TabBar tabBar, Tab tab) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null || tab == null) return;
                 UICommons.tabBar_removeTab(tabBar, tab);
             }
 
             public void removeTabs(TabBar tabBar, Tab[] tabs) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null || tabs == null) return;
                 for (int i = 0; i < tabs.length; i++) removeTab(tabBar, tabs[i]);
             }
 
             public void removeAllTabs(TabBar tabBar) {
+                UICommons.ui_setDirty(inputState, tabBar);
                 if (tabBar == null) return;
                 removeTabs(tabBar, tabBar.tabs.toArray(new Tab[]{}));
             }
@@ -1131,72 +1249,86 @@ public class API {
                 }
 
                 public void setName(Tab tab, String name) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null) return;
                     tab.name = Tools.Text.validString(name);
                 }
 
                 public void setData(Tab tab, Object data) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null) return;
                     tab.data = data;
                 }
 
                 public void setIconIndex(Tab tab, int iconIndex) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null) return;
                     tab.iconIndex = Tools.Calc.lowerBounds(iconIndex, 0);
                 }
 
                 public void addTabComponent(Tab tab, Component component) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null || component == null) return;
                     UICommons.tab_addComponent(tab, component);
                 }
 
                 public void setTabComponents(Tab tab, Component[] components) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null || components == null) return;
                     removeAllTabComponents(tab);
                     for (int i = 0; i < components.length; i++) addTabComponent(tab, components[i]);
                 }
 
                 public void addTabComponents(Tab tab, Component[] components) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null || components == null) return;
                     for (int i = 0; i < components.length; i++) addTabComponent(tab, components[i]);
                 }
 
                 public void removeTabComponent(Tab tab, Component component) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null || component == null) return;
                     UICommons.tab_removeComponent(tab, component);
                 }
 
                 public void removeTabComponents(Tab tab, Component[] components) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null || components == null) return;
                     for (int i = 0; i < components.length; i++) removeTabComponent(tab, components[i]);
                 }
 
                 public void removeAllTabComponents(Tab tab) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null) return;
                     removeTabComponents(tab, tab.components.toArray(new Component[]{}));
                 }
 
                 public void setIcon(Tab tab, CMediaSprite icon) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null) return;
                     tab.icon = icon;
                 }
 
                 public void setTitle(Tab tab, String title) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null) return;
                     tab.title = Tools.Text.validString(title);
                 }
 
                 public void setFont(Tab tab, CMediaFont font) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null) return;
                     tab.font = font;
                 }
 
                 public void setTabAction(Tab tab, TabAction tabAction) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null) return;
                     tab.tabAction = tabAction;
                 }
 
                 public void setWidth(Tab tab, int width) {
+                    UICommons.ui_setDirty(inputState, tab);
                     if (tab == null) return;
                     tab.width = Tools.Calc.lowerBounds(width, 1);
                 }
@@ -1246,12 +1378,18 @@ public class API {
                 grid.dragInEnabled = dragInEnabled;
                 grid.dragOutEnabled = dragOutEnabled;
                 grid.doubleSized = doubleSized;
+                grid.viewportWidth = 0;
+                grid.viewportHeight = 0;
+                grid.scrollX = 0;
+                grid.scrollY = 0;
                 return grid;
             }
 
             public void setDoubleSized(Grid grid, boolean doubleSized) {
+                UICommons.ui_setDirty(inputState, grid);
                 grid.doubleSized = doubleSized;
                 UICommons.grid_updateSize(grid);
+                inputState.hitTestGrid_dirty = true;
             }
 
             public boolean isPositionValid(Grid grid, int x, int y) {
@@ -1260,28 +1398,57 @@ public class API {
             }
 
             public void setDragInEnabled(Grid grid, boolean dragInEnabled) {
+                UICommons.ui_setDirty(inputState, grid);
                 if (grid == null) return;
                 grid.dragInEnabled = dragInEnabled;
             }
 
             public void setDragOutEnabled(Grid grid, boolean dragOutEnabled) {
+                UICommons.ui_setDirty(inputState, grid);
                 if (grid == null) return;
                 grid.dragOutEnabled = dragOutEnabled;
             }
 
             public void setDragEnabled(Grid grid, boolean dragEnabled) {
+                UICommons.ui_setDirty(inputState, grid);
                 if (grid == null) return;
                 grid.dragEnabled = dragEnabled;
             }
 
             public void setGridAction(Grid grid, GridAction gridAction) {
+                UICommons.ui_setDirty(inputState, grid);
                 if (grid == null) return;
                 grid.gridAction = gridAction;
             }
 
             public void setItems(Grid grid, Object[][] items) {
+                UICommons.ui_setDirty(inputState, grid);
                 if (grid == null || items == null) return;
                 UICommons.grid_setItems(grid, items);
+                inputState.hitTestGrid_dirty = true;
+            }
+
+            public void setViewport(Grid<?> grid, int viewportWidth, int viewportHeight) {
+                UICommons.ui_setDirty(inputState, grid);
+                if (grid == null) return;
+                UICommons.grid_setViewport(grid, viewportWidth, viewportHeight);
+                inputState.hitTestGrid_dirty = true;
+            }
+
+            public void setScrolled(Grid<?> grid, int scrollX, int scrollY) {
+                UICommons.ui_setDirty(inputState, grid);
+                if (grid == null) return;
+                UICommons.grid_scroll(grid, scrollX, scrollY);
+            }
+
+            public int getMaxScrollX(Grid<?> grid) {
+                if (grid == null) return 0;
+                return UICommons.grid_getMaxScrollX(grid);
+            }
+
+            public int getMaxScrollY(Grid<?> grid) {
+                if (grid == null) return 0;
+                return UICommons.grid_getMaxScrollY(grid);
             }
 
 
@@ -1333,32 +1500,38 @@ public class API {
             }
 
             public void setMarkerPosition(TextField textField, int position) {
+                UICommons.ui_setDirty(inputState, textField);
                 if (textField == null) return;
                 UICommons.textField_setMarkerPosition(mediaManager, textField, position);
             }
 
             public void setContent(TextField textField, String content) {
+                UICommons.ui_setDirty(inputState, textField);
                 if (textField == null) return;
                 UICommons.textField_setContent(textField, content);
             }
 
             public void setFont(TextField textField, CMediaFont font) {
+                UICommons.ui_setDirty(inputState, textField);
                 if (textField == null) return;
                 textField.font = font;
             }
 
             public void setTextFieldAction(TextField textField, TextFieldAction textFieldAction) {
+                UICommons.ui_setDirty(inputState, textField);
                 if (textField == null) return;
                 textField.textFieldAction = textFieldAction;
                 UICommons.textField_setContent(textField, textField.content); // Trigger validation
             }
 
             public void setContentMaxLength(TextField textField, int contentMaxLength) {
+                UICommons.ui_setDirty(inputState, textField);
                 if (textField == null) return;
                 textField.contentMaxLength = Tools.Calc.lowerBounds(contentMaxLength, 0);
             }
 
             public void setAllowedCharacters(TextField textField, char[] allowedCharacters) {
+                UICommons.ui_setDirty(inputState, textField);
                 if (textField == null) return;
                 textField.allowedCharacters.clear();
                 if (allowedCharacters != null) {
@@ -1368,11 +1541,13 @@ public class API {
             }
 
             public void unFocus(TextField textField) {
+                UICommons.ui_setDirty(inputState, textField);
                 if (textField == null) return;
                 UICommons.textField_unFocus(inputState, textField);
             }
 
             public void focus(TextField textField) {
+                UICommons.ui_setDirty(inputState, textField);
                 if (textField == null) return;
                 UICommons.textField_focus(inputState, textField);
             }
@@ -1426,11 +1601,13 @@ public class API {
             }
 
             public void setCanvasAction(Canvas canvas, CanvasAction canvasAction) {
+                UICommons.ui_setDirty(inputState, canvas);
                 if (canvas == null) return;
                 canvas.canvasAction = canvasAction;
             }
 
             public void point(Canvas canvas, int x, int y, float r, float g, float b, float a) {
+                UICommons.ui_setDirty(inputState, canvas);
                 if (canvas == null) return;
                 UICommons.canvas_setPoint(canvas, x, y, r, g, b, a);
             }
@@ -1442,39 +1619,47 @@ public class API {
             }
 
             public void point(Canvas canvas, int x, int y, Color color) {
+                UICommons.ui_setDirty(inputState, canvas);
                 point(canvas, x, y, color.r, color.g, color.b, color.a);
             }
 
             public void setAllPoints(Canvas canvas, float r, float g, float b, float a) {
+                UICommons.ui_setDirty(inputState, canvas);
                 if (canvas == null) return;
                 UICommons.canvas_setAllPoints(canvas, r, g, b, a);
             }
 
             public void setAllPoints(Canvas canvas, Color color) {
+                UICommons.ui_setDirty(inputState, canvas);
                 setAllPoints(canvas, color.r, color.g, color.b, color.a);
             }
 
             public void addCanvasImage(Canvas canvas, CanvasImage canvasImage) {
+                UICommons.ui_setDirty(inputState, canvas);
                 if (canvas == null || canvasImage == null) return;
                 UICommons.canvas_addCanvasImage(canvas, canvasImage);
             }
 
             public void addCanvasImages(Canvas canvas, CanvasImage[] canvasImages) {
+                UICommons.ui_setDirty(inputState, canvas);
                 if (canvas == null || canvasImages == null) return;
                 for (int i = 0; i < canvasImages.length; i++) addCanvasImage(canvas, canvasImages[i]);
             }
 
             public void removeCanvasImage(Canvas canvas, CanvasImage canvasImage) {
+                UICommons.ui_setDirty(inputState, canvas);
                 if (canvas == null || canvasImage == null) return;
                 UICommons.canvas_removeCanvasImage(canvas, canvasImage);
             }
 
             public void removeCanvasImages(Canvas canvas, CanvasImage[] canvasImages) {
+                UICommons.ui_setDirty(inputState, canvas);
                 if (canvas == null || canvasImages == null) return;
                 for (int i = 0; i < canvasImages.length; i++) removeCanvasImage(canvas, canvasImages[i]);
             }
 
             public void removeAllCanvasImages(Canvas canvas) {
+                UICommons.ui_setDirty(inputState, canvas);
                 if (canvas == null) return;
                 removeCanvasImages(canvas, canvas.canvasImages.toArray(new CanvasImage[]{}));
             }
@@ -1526,32 +1711,38 @@ public class API {
                 }
 
                 public void setFadeOut(CanvasImage canvasImage, boolean fadeOut) {
+                    UICommons.ui_setDirty(inputState, canvasImage);
                     if (canvasImage == null) return;
                     canvasImage.fadeOut = fadeOut;
                 }
 
                 public void setFadeOutTime(CanvasImage canvasImage, int fadeoutTime) {
+                    UICommons.ui_setDirty(inputState, canvasImage);
                     if (canvasImage == null) return;
                     canvasImage.fadeOutTime = Tools.Calc.lowerBounds(fadeoutTime, 0);
                 }
 
                 public void setPosition(CanvasImage canvasImage, int x, int y) {
+                    UICommons.ui_setDirty(inputState, canvasImage);
                     if (canvasImage == null) return;
                     canvasImage.x = x;
                     canvasImage.y = y;
                 }
 
                 public void move(CanvasImage canvasImage, int x, int y) {
+                    UICommons.ui_setDirty(inputState, canvasImage);
                     if (canvasImage == null) return;
                     setPosition(canvasImage, canvasImage.x + x, canvasImage.y + y);
                 }
 
                 public void setImage(CanvasImage canvasImage, CMediaSprite image) {
+                    UICommons.ui_setDirty(inputState, canvasImage);
                     if (canvasImage == null) return;
                     canvasImage.image = image;
                 }
 
                 public void setColor(CanvasImage canvasImage, float r, float g, float b, float a) {
+                    UICommons.ui_setDirty(inputState, canvasImage);
                     if (canvasImage == null) return;
                     canvasImage.color_r = r;
                     canvasImage.color_g = g;
@@ -1560,20 +1751,24 @@ public class API {
                 }
 
                 public void setColor(CanvasImage canvasImage, Color color) {
+                    UICommons.ui_setDirty(inputState, canvasImage);
                     setColor(canvasImage, color.r, color.b, color.g, color.a);
                 }
 
                 public void setArrayIndex(CanvasImage canvasImage, int arrayIndex) {
+                    UICommons.ui_setDirty(inputState, canvasImage);
                     if (canvasImage == null) return;
                     canvasImage.arrayIndex = Tools.Calc.lowerBounds(arrayIndex, 0);
                 }
 
                 public void setName(CanvasImage canvasImage, String name) {
+                    UICommons.ui_setDirty(inputState, canvasImage);
                     if (canvasImage == null) return;
                     canvasImage.name = Tools.Text.validString(name);
                 }
 
                 public void setData(CanvasImage canvasImage, Object data) {
+                    UICommons.ui_setDirty(inputState, canvasImage);
                     if (canvasImage == null) return;
                     canvasImage.data = data;
                 }
@@ -1610,16 +1805,19 @@ public class API {
             }
 
             public void setTurned(Knob knob, float turned) {
+                UICommons.ui_setDirty(inputState, knob);
                 if (knob == null) return;
                 UICommons.knob_turnKnob(knob, turned);
             }
 
             public void setKnobAction(Knob knob, KnobAction knobAction) {
+                UICommons.ui_setDirty(inputState, knob);
                 if (knob == null) return;
                 knob.knobAction = knobAction;
             }
 
             public void setEndless(Knob knob, boolean endless) {
+                UICommons.ui_setDirty(inputState, knob);
                 if (knob == null) return;
                 knob.endless = endless;
             }
@@ -1640,6 +1838,7 @@ public class API {
             public Text create(int x, int y, String[] lines, TextAction textAction) {
                 Text text = new Text();
                 text.font = inputState.config.component_defaultFont;
+                text.textLayoutCaches = new TextLayoutCache[0];
                 int width = 1;
                 int height = 1;
                 if (lines != null && text.font != null) {
@@ -1657,16 +1856,20 @@ public class API {
             }
 
             public void setTextAction(Text text, TextAction textAction) {
+                UICommons.ui_setDirty(inputState, text);
                 if (text == null) return;
                 text.textAction = textAction;
             }
 
             public void setLines(Text text, String... lines) {
+                UICommons.ui_setDirty(inputState, text);
                 if (text == null) return;
                 UICommons.text_setLines(mediaManager, text, lines);
+                inputState.hitTestGrid_dirty = true;
             }
 
             public void setFont(Text text, CMediaFont font) {
+                UICommons.ui_setDirty(inputState, text);
                 if (text == null) return;
                 text.font = font;
             }
@@ -1705,23 +1908,28 @@ public class API {
             }
 
             public void setAnimationOffset(Image image, float animationOffset) {
+                UICommons.ui_setDirty(inputState, image);
                 if (image == null) return;
                 image.animationOffset = animationOffset;
             }
 
             public void setImageAction(Image image, ImageAction imageAction) {
+                UICommons.ui_setDirty(inputState, image);
                 if (image == null) return;
                 image.imageAction = imageAction;
             }
 
             public void setArrayIndex(Image image, int arrayIndex) {
+                UICommons.ui_setDirty(inputState, image);
                 if (image == null) return;
                 image.arrayIndex = Tools.Calc.lowerBounds(arrayIndex, 0);
             }
 
             public void setImage(Image imageC, CMediaSprite image) {
+                UICommons.ui_setDirty(inputState, imageC);
                 if (imageC == null) return;
                 UICommons.image_setImage(mediaManager, imageC, image);
+                inputState.hitTestGrid_dirty = true;
             }
 
         }
@@ -1755,6 +1963,7 @@ public class API {
                 setComponentCommonInitValuesInternal(comboBox, x, y, width, 1);
                 comboBox.useIcons = useIcons;
                 comboBox.comboBoxAction = comboBoxAction;
+                comboBox.textLayoutCache = new TextLayoutCache();
                 comboBox.comboBoxItems = new ArrayList<>();
                 if (combobBoxItems != null) {
                     for (int i = 0; i < combobBoxItems.length; i++) {
@@ -1769,36 +1978,43 @@ public class API {
             }
 
             public void setComboBoxAction(ComboBox comboBox, ComboBoxAction comboBoxAction) {
+                UICommons.ui_setDirty(inputState, comboBox);
                 if (comboBox == null) return;
                 comboBox.comboBoxAction = comboBoxAction;
             }
 
             public void setUseIcons(ComboBox comboBox, boolean useIcons) {
+                UICommons.ui_setDirty(inputState, comboBox);
                 if (comboBox == null) return;
                 comboBox.useIcons = useIcons;
             }
 
             public void addComboBoxItem(ComboBox comboBox, ComboBoxItem comboBoxItem) {
+                UICommons.ui_setDirty(inputState, comboBox);
                 if (comboBox == null || comboBoxItem == null) return;
                 UICommons.comboBox_addItem(comboBox, comboBoxItem);
             }
 
             public void addComboBoxItems(ComboBox comboBox, ComboBoxItem[] comboBoxItems) {
+                UICommons.ui_setDirty(inputState, comboBox);
                 if (comboBox == null || comboBoxItems == null) return;
                 for (int i = 0; i < comboBoxItems.length; i++) addComboBoxItem(comboBox, comboBoxItems[i]);
             }
 
             public void removeComboBoxItem(ComboBox comboBox, ComboBoxItem comboBoxItem) {
+                UICommons.ui_setDirty(inputState, comboBox);
                 if (comboBox == null || comboBoxItem == null) return;
                 UICommons.comboBox_removeItem(comboBox, comboBoxItem);
             }
 
             public void removeComboBoxItems(ComboBox comboBox, ComboBoxItem[] comboBoxItems) {
+                UICommons.ui_setDirty(inputState, comboBox);
                 if (comboBox == null || comboBoxItems == null) return;
                 for (int i = 0; i < comboBoxItems.length; i++) removeComboBoxItem(comboBox, comboBoxItems[i]);
             }
 
             public void removeAllComboBoxItems(ComboBox comboBox) {
+                UICommons.ui_setDirty(inputState, comboBox);
                 if (comboBox == null) return;
                 removeComboBoxItems(comboBox, comboBox.comboBoxItems.toArray(new ComboBoxItem[]{}));
             }
@@ -1809,16 +2025,19 @@ public class API {
             }
 
             public void selectItem(ComboBoxItem selectItem) {
+                UICommons.ui_setDirty(inputState, selectItem);
                 if (selectItem == null) return;
                 UICommons.comboBox_selectItem(inputState, selectItem);
             }
 
             public void open(ComboBox comboBox) {
+                UICommons.ui_setDirty(inputState, comboBox);
                 if (comboBox == null) return;
                 UICommons.comboBox_open(inputState, comboBox);
             }
 
             public void close(ComboBox comboBox) {
+                UICommons.ui_setDirty(inputState, comboBox);
                 if (comboBox == null) return;
                 UICommons.comboBox_close(inputState, comboBox);
             }
@@ -1828,6 +2047,7 @@ public class API {
             }
 
             public void setSelectedItemByText(ComboBox comboBox, String text) {
+                UICommons.ui_setDirty(inputState, comboBox);
                 if (comboBox == null || text == null) return;
                 for (int i = 0; i < comboBox.comboBoxItems.size(); i++) {
                     if (comboBox.comboBoxItems.get(i).text.equals(text)) {
@@ -1869,20 +2089,24 @@ public class API {
                     comboBoxItem.comboBoxItemAction = comboBoxItemAction;
                     comboBoxItem.name = "";
                     comboBoxItem.data = null;
+                    comboBoxItem.textLayoutCache = new TextLayoutCache();
                     return comboBoxItem;
                 }
 
                 public void setName(ComboBoxItem comboBoxItem, String name) {
+                    UICommons.ui_setDirty(inputState, comboBoxItem);
                     if (comboBoxItem == null) return;
                     comboBoxItem.name = Tools.Text.validString(name);
                 }
 
                 public void setData(ComboBoxItem comboBoxItem, Object data) {
+                    UICommons.ui_setDirty(inputState, comboBoxItem);
                     if (comboBoxItem == null) return;
                     comboBoxItem.data = data;
                 }
 
                 public void setColor(ComboBoxItem comboBoxItem, Color color) {
+                    UICommons.ui_setDirty(inputState, comboBoxItem);
                     if (comboBoxItem == null || color == null) return;
                     comboBoxItem.color_r = color.r;
                     comboBoxItem.color_g = color.g;
@@ -1890,26 +2114,31 @@ public class API {
                 }
 
                 public void setFont(ComboBoxItem comboBoxItem, CMediaFont font) {
+                    UICommons.ui_setDirty(inputState, comboBoxItem);
                     if (comboBoxItem == null) return;
                     comboBoxItem.font = font;
                 }
 
                 public void setComboBoxItemAction(ComboBoxItem comboBoxItem, ComboBoxItemAction comboBoxItemAction) {
+                    UICommons.ui_setDirty(inputState, comboBoxItem);
                     if (comboBoxItem == null) return;
                     comboBoxItem.comboBoxItemAction = comboBoxItemAction;
                 }
 
                 public void setText(ComboBoxItem comboBoxItem, String text) {
+                    UICommons.ui_setDirty(inputState, comboBoxItem);
                     if (comboBoxItem == null) return;
                     comboBoxItem.text = Tools.Text.validString(text);
                 }
 
                 public void setIcon(ComboBoxItem comboBoxItem, CMediaSprite icon) {
+                    UICommons.ui_setDirty(inputState, comboBoxItem);
                     if (comboBoxItem == null) return;
                     comboBoxItem.icon = icon;
                 }
 
                 public void setIconIndex(ComboBoxItem comboBoxItem, int index) {
+                    UICommons.ui_setDirty(inputState, comboBoxItem);
                     if (comboBoxItem == null) return;
                     comboBoxItem.iconIndex = Tools.Calc.lowerBounds(index, 0);
                 }
@@ -1969,11 +2198,13 @@ public class API {
             }
 
             public void setScrolled(ScrollBar scrollBar, float scrolled) {
+                UICommons.ui_setDirty(inputState, scrollBar);
                 if (scrollBar == null) return;
                 UICommons.scrollBar_scroll(scrollBar, scrolled);
             }
 
             public void setScrollBarAction(ScrollBar scrollBar, ScrollBarAction scrollBarAction) {
+                UICommons.ui_setDirty(inputState, scrollBar);
                 if (scrollBar == null) return;
                 scrollBar.scrollBarAction = scrollBarAction;
             }
@@ -2025,77 +2256,124 @@ public class API {
                 list.dragInEnabled = dragInEnabled;
                 list.dragOutEnabled = dragOutEnabled;
                 list.font = inputState.config.component_defaultFont;
+                list.rowCache = null;
+                list.rowCacheVersion = 0;
                 return list;
             }
 
             public void setDragInEnabled(List list, boolean dragInEnabled) {
+                UICommons.ui_setDirty(inputState, list);
                 if (list == null) return;
                 list.dragInEnabled = dragInEnabled;
             }
 
             public void setDragOutEnabled(List list, boolean dragOutEnabled) {
+                UICommons.ui_setDirty(inputState, list);
                 if (list == null) return;
                 list.dragOutEnabled = dragOutEnabled;
             }
 
             public void setDragEnabled(List list, boolean dragEnabled) {
+                UICommons.ui_setDirty(inputState, list);
                 if (list == null) return;
                 list.dragEnabled = dragEnabled;
             }
 
             public void setItems(List list, ArrayList items) {
+                UICommons.ui_setDirty(inputState, list);
                 if (list == null) return;
                 list.items = items;
+                UICommons.list_invalidateRowCache(list);
+            }
+
+            /**
+             * Caches text, icon, cellColor and selection state per visible row.
+             * Rows are only refreshed if the item at that row changed identity, use invalidateRowCache/itemChanged if item contents change.
+             */
+            public void setRowCacheEnabled(List<?> list, boolean rowCacheEnabled) {
+                UICommons.ui_setDirty(inputState, list);
+                if (list == null) return;
+                UICommons.list_setRowCacheEnabled(list, rowCacheEnabled);
+            }
+
+            public boolean isRowCacheEnabled(List<?> list) {
+                if (list == null) return false;
+                return list.rowCache != null;
+            }
+
+            public void invalidateRowCache(List<?> list) {
+                UICommons.ui_setDirty(inputState, list);
+                if (list == null) return;
+                UICommons.list_invalidateRowCache(list);
+            }
+
+            public void itemChanged(List<?> list, Object item) {
+                UICommons.ui_setDirty(inputState, list);
+                if (list == null) return;
+                UICommons.list_invalidateRowCacheItem(list, item);
             }
 
             public void setScrolled(List list, float scrolled) {
+                UICommons.ui_setDirty(inputState, list);
                 if (list == null) return;
                 UICommons.list_scroll(list, scrolled);
             }
 
             public void setListAction(List list, ListAction listAction) {
+                UICommons.ui_setDirty(inputState, list);
                 if (list == null) return;
                 list.listAction = listAction;
+                UICommons.list_invalidateRowCache(list);
             }
 
             public void setFont(List list, CMediaFont font) {
+                UICommons.ui_setDirty(inputState, list);
                 if (list == null) return;
                 list.font = font;
             }
 
             public void setMultiSelect(List list, boolean multiSelect) {
+                UICommons.ui_setDirty(inputState, list);
                 if (list == null) return;
                 UICommons.list_setMultiSelect(list, multiSelect);
             }
 
             public void setSelectedItem(List list, Object selectedItem) {
+                UICommons.ui_setDirty(inputState, list);
                 if (list == null) return;
                 if (list.multiSelect) return;
                 if (list.items != null && list.items.contains(selectedItem)) list.selectedItem = selectedItem;
+                UICommons.list_invalidateRowCache(list);
             }
 
             public void setSelectedItems(List list, Object[] selectedItems) {
+                UICommons.ui_setDirty(inputState, list);
                 if (list == null || selectedItems == null) return;
                 if (!list.multiSelect) return;
                 list.selectedItems.clear();
                 for (int i = 0; i < selectedItems.length; i++)
                     if (selectedItems[i] != null) list.selectedItems.add(selectedItems[i]);
+                UICommons.list_invalidateRowCache(list);
             }
 
         }
 
         public void setToolTip(Component component, ToolTip tooltip) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             component.toolTip = tooltip;
         }
 
         public void setPosition(Component component, int x, int y) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             component.x = x;
             component.y = y;
+            inputState.hitTestGrid_dirty = true;
         }
 
         public void setPositionGrid(Component component, int x, int y) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             setPosition(component, x * UIEngine.TILE_SIZE, y * UIEngine.TILE_SIZE);
         }
@@ -2106,6 +2384,7 @@ public class API {
         }
 
         public void moveX(Component component, int x) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             setPosition(component, component.x + x, component.y);
         }
@@ -2116,6 +2395,7 @@ public class API {
         }
 
         public void moveY(Component component, int y) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             setPosition(component, component.x, component.y + y);
         }
@@ -2126,56 +2406,68 @@ public class API {
         }
 
         public void move(Component component, int x, int y) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             setPosition(component, component.x + x, component.y + y);
         }
 
         public void setDisabled(Component component, boolean disabled) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             component.disabled = disabled;
         }
 
         public void setDisabled(Component[] components, boolean disabled) {
             if (components == null) return;
-            for (int i = 0; i < components.length; i++) setDisabled(components, disabled);
+            for (int i = 0; i < components.length; i++) setDisabled(components[i], disabled);
         }
 
         public void addUpdateAction(Component component, UpdateAction updateAction) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null || updateAction == null) return;
             component.updateActions.add(updateAction);
+            inputState.updateActionScheduler_dirty = true;
         }
 
         public void addUpdateActions(Component component, UpdateAction[] updateActions) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null || updateActions == null) return;
             for (int i = 0; i < updateActions.length; i++) addUpdateAction(component, updateActions[i]);
         }
 
         public void removeUpdateAction(Component component, UpdateAction updateAction) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null || updateAction == null) return;
             component.updateActions.remove(updateAction);
+            inputState.updateActionScheduler_dirty = true;
         }
 
         public void removeUpdateActions(Component component, UpdateAction[] updateActions) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null || updateActions == null) return;
             for (int i = 0; i < updateActions.length; i++) removeUpdateAction(component, updateActions[i]);
         }
 
         public void removeAllUpdateActions(Component component) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             removeUpdateActions(component, component.updateActions.toArray(new UpdateAction[]{}));
         }
 
         public void setName(Component component, String name) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             component.name = Tools.Text.validString(name);
         }
 
         public void setCustomData(Component component, Object customData) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             component.data = customData;
         }
 
         public void setSize(Component component, int width, int height) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             UICommons.component_setSize(inputState, component, width, height);
         }
@@ -2186,11 +2478,13 @@ public class API {
         }
 
         public void setColor(Component component, Color color) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null || color == null) return;
             setColor(component, color.r, color.g, color.b, color.a);
         }
 
         public void setColor(Component component, float r, float g, float b, float a) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             component.color_r = Tools.Calc.inBounds01(r);
             component.color_g = Tools.Calc.inBounds01(g);
@@ -2204,11 +2498,13 @@ public class API {
         }
 
         public void setColor2(Component component, Color color) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null || color == null) return;
             setColor2(component, color.r, color.g, color.b);
         }
 
         public void setColor2(Component component, float r, float g, float b) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             component.color2_r = Tools.Calc.inBounds01(r);
             component.color2_g = Tools.Calc.inBounds01(g);
@@ -2216,6 +2512,7 @@ public class API {
         }
 
         public void setColor1And2(Component component, Color color) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             setColor(component, color);
             setColor2(component, color);
@@ -2230,6 +2527,7 @@ public class API {
         }
 
         public void setAlpha(Component component, float alpha) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             component.color_a = Tools.Calc.inBounds01(alpha);
         }
@@ -2240,6 +2538,7 @@ public class API {
         }
 
         public void setVisible(Component component, boolean visible) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             component.visible = visible;
         }
@@ -2280,6 +2579,7 @@ public class API {
         }
 
         public void forceToolTipUpdate(Component component) {
+            UICommons.ui_setDirty(inputState, component);
             if (component == null) return;
             component.updateToolTip = true;
         }
@@ -2360,12 +2660,14 @@ public class API {
 
             public void setName(ContextMenuItem contextMenuItem, String name) {
                 if (contextMenuItem == null) return;
+                UICommons.ui_setDirty(inputState, contextMenuItem);
                 contextMenuItem.name = Tools.Text.validString(name);
 
             }
 
             public void setData(ContextMenuItem contextMenuItem, Object data) {
                 if (contextMenuItem == null) return;
+                UICommons.ui_setDirty(inputState, contextMenuItem);
                 contextMenuItem.data = data;
             }
 
@@ -2376,6 +2678,7 @@ public class API {
 
             public void setColor(ContextMenuItem contextMenuItem, float r, float g, float b) {
                 if (contextMenuItem == null) return;
+                UICommons.ui_setDirty(inputState, contextMenuItem);
                 contextMenuItem.color_r = r;
                 contextMenuItem.color_g = g;
                 contextMenuItem.color_b = b;
@@ -2383,31 +2686,37 @@ public class API {
 
             public void setFont(ContextMenuItem contextMenuItem, CMediaFont font) {
                 if (contextMenuItem == null) return;
+                UICommons.ui_setDirty(inputState, contextMenuItem);
                 contextMenuItem.font = font;
             }
 
             public void setContextMenuItemAction(ContextMenuItem contextMenuItem, ContextMenuItemAction contextMenuItemAction) {
                 if (contextMenuItem == null) return;
+                UICommons.ui_setDirty(inputState, contextMenuItem);
                 contextMenuItem.contextMenuItemAction = contextMenuItemAction;
             }
 
             public void setText(ContextMenuItem contextMenuItem, String text) {
                 if (contextMenuItem == null) return;
+                UICommons.ui_setDirty(inputState, contextMenuItem);
                 contextMenuItem.text = Tools.Text.validString(text);
             }
 
             public void setIcon(ContextMenuItem contextMenuItem, CMediaSprite icon) {
                 if (contextMenuItem == null) return;
+                UICommons.ui_setDirty(inputState, contextMenuItem);
                 contextMenuItem.icon = icon;
             }
 
             public void setIconIndex(ContextMenuItem contextMenuItem, int index) {
                 if (contextMenuItem == null) return;
+                UICommons.ui_setDirty(inputState, contextMenuItem);
                 contextMenuItem.iconIndex = Tools.Calc.lowerBounds(index, 0);
             }
 
             public void selectItem(ContextMenuItem contextMenuItem) {
                 if (contextMenuItem == null) return;
+                UICommons.ui_setDirty(inputState, contextMenuItem);
                 UICommons.contextMenu_selectItem(inputState, contextMenuItem);
             }
 
@@ -2439,16 +2748,19 @@ public class API {
 
         public void setContextMenuAction(ContextMenu contextMenu, ContextMenuAction contextMenuAction) {
             if (contextMenu == null) return;
+            UICommons.ui_setDirty(inputState, contextMenu);
             contextMenu.contextMenuAction = contextMenuAction;
         }
 
         public void setAlpha(ContextMenu contextMenu, float alpha) {
             if (contextMenu == null) return;
+            UICommons.ui_setDirty(inputState, contextMenu);
             contextMenu.color_a = Tools.Calc.inBounds(alpha, 0f, 1f);
         }
 
         public void addContextMenuItem(ContextMenu contextMenu, ContextMenuItem contextMenuItem) {
             if (contextMenu == null || contextMenuItem == null) return;
+            UICommons.ui_setDirty(inputState, contextMenu);
             UICommons.contextMenu_addItem(contextMenu, contextMenuItem);
         }
 
@@ -2459,6 +2771,7 @@ public class API {
 
         public void removeContextMenuItem(ContextMenu contextMenu, ContextMenuItem contextMenuItem) {
             if (contextMenu == null || contextMenuItem == null) return;
+            UICommons.ui_setDirty(inputState, contextMenu);
             UICommons.contextMenu_removeItem(contextMenu, contextMenuItem);
         }
 
@@ -2530,26 +2843,31 @@ public class API {
 
         public void setName(Notification notification, String name) {
             if (notification == null) return;
+            UICommons.ui_setDirty(inputState, notification);
             notification.name = Tools.Text.validString(name);
         }
 
         public void setData(Notification notification, Object data) {
             if (notification == null) return;
+            UICommons.ui_setDirty(inputState, notification);
             notification.data = data;
         }
 
         public void setNotificationAction(Notification notification, NotificationAction notificationAction) {
             if (notification == null) return;
+            UICommons.ui_setDirty(inputState, notification);
             notification.notificationAction = notificationAction;
         }
 
         public void setDisplayTime(Notification notification, int displayTime) {
             if (notification == null) return;
+            UICommons.ui_setDirty(inputState, notification);
             notification.displayTime = Tools.Calc.lowerBounds(displayTime, 0);
         }
 
         public void setColor(Notification notification, float r, float g, float b, float a) {
             if (notification == null) return;
+            UICommons.ui_setDirty(inputState, notification);
             notification.color_r = r;
             notification.color_g = g;
             notification.color_b = b;
@@ -2563,11 +2881,13 @@ public class API {
 
         public void setFont(Notification notification, CMediaFont font) {
             if (notification == null) return;
+            UICommons.ui_setDirty(inputState, notification);
             notification.font = font;
         }
 
         public void setText(Notification notification, String text) {
             if (notification == null) return;
+            UICommons.ui_setDirty(inputState, notification);
             notification.text = Tools.Text.validString(text);
         }
 
@@ -2602,17 +2922,20 @@ public class API {
 
             public void setImage(ToolTipImage toolTipImage, CMediaSprite image) {
                 if (toolTipImage == null) return;
+                UICommons.ui_setDirty(inputState, toolTipImage);
                 toolTipImage.image = image;
             }
 
             public void setPosition(ToolTipImage toolTipImage, int x, int y) {
                 if (toolTipImage == null) return;
+                UICommons.ui_setDirty(inputState, toolTipImage);
                 toolTipImage.x = x;
                 toolTipImage.y = y;
             }
 
             public void setColor(ToolTipImage toolTipImage, float r, float g, float b, float a) {
                 if (toolTipImage == null) return;
+                UICommons.ui_setDirty(inputState, toolTipImage);
                 toolTipImage.color_r = r;
                 toolTipImage.color_g = g;
                 toolTipImage.color_b = b;
@@ -2666,6 +2989,7 @@ public class API {
 
         public void addToolTipImage(ToolTip toolTip, ToolTipImage toolTipImage) {
             if (toolTip == null || toolTipImage == null) return;
+            UICommons.ui_setDirty(inputState, toolTip);
             UICommons.toolTip_addToolTipImage(toolTip, toolTipImage);
         }
 
@@ -2676,6 +3000,7 @@ public class API {
 
         public void removeToolTipImage(ToolTip toolTip, ToolTipImage toolTipImage) {
             if (toolTip == null || toolTipImage == null) return;
+            UICommons.ui_setDirty(inputState, toolTip);
             UICommons.toolTip_removeToolTipImage(toolTip, toolTipImage);
         }
 
@@ -2691,27 +3016,32 @@ public class API {
 
         public void setToolTipAction(ToolTip toolTip, ToolTipAction toolTipAction) {
             if (toolTip == null) return;
+            UICommons.ui_setDirty(inputState, toolTip);
             toolTip.toolTipAction = toolTipAction;
         }
 
         public void setDisplayFistLineAsTitle(ToolTip tooltip, boolean firstLineIsTitle) {
             if (tooltip == null) return;
+            UICommons.ui_setDirty(inputState, tooltip);
             tooltip.displayFistLineAsTitle = firstLineIsTitle;
         }
 
         public void setLines(ToolTip tooltip, String[] lines) {
             if (tooltip == null) return;
+            UICommons.ui_setDirty(inputState, tooltip);
             UICommons.tooltip_setLines(tooltip, lines);
         }
 
         public void setSizeMin(ToolTip tooltip, int minWidth, int minHeight) {
             if (tooltip == null) return;
+            UICommons.ui_setDirty(inputState, tooltip);
             tooltip.minWidth = Tools.Calc.lowerBounds(minWidth, 1);
             tooltip.minHeight = Tools.Calc.lowerBounds(minHeight, 1);
         }
 
         public void setColor(ToolTip tooltip, float r, float g, float b, float a) {
             if (tooltip == null) return;
+            UICommons.ui_setDirty(inputState, tooltip);
             tooltip.color_r = r;
             tooltip.color_g = g;
             tooltip.color_b = b;
@@ -2725,6 +3055,7 @@ public class API {
 
         public void setFont(ToolTip tooltip, CMediaFont font) {
             if (tooltip == null) return;
+            UICommons.ui_setDirty(inputState, tooltip);
             tooltip.font = font;
         }
 
@@ -2797,26 +3128,31 @@ public class API {
 
         public void setName(MouseTool mouseTool, String name) {
             if (mouseTool == null) return;
+            UICommons.ui_setDirty(inputState, mouseTool);
             mouseTool.name = Tools.Text.validString(name);
         }
 
         public void setData(MouseTool mouseTool, Object data) {
             if (mouseTool == null) return;
+            UICommons.ui_setDirty(inputState, mouseTool);
             mouseTool.data = data;
         }
 
         public void setCursor(MouseTool mouseTool, CMediaCursor cursor) {
             if (mouseTool == null) return;
+            UICommons.ui_setDirty(inputState, mouseTool);
             mouseTool.cursor = cursor;
         }
 
         public void setCursorDown(MouseTool mouseTool, CMediaCursor cursorDown) {
             if (mouseTool == null) return;
+            UICommons.ui_setDirty(inputState, mouseTool);
             mouseTool.cursorDown = cursorDown;
         }
 
         public void setMouseToolAction(MouseTool mouseTool, MouseToolAction mouseToolAction) {
             if (mouseTool == null) return;
+            UICommons.ui_setDirty(inputState, mouseTool);
             mouseTool.mouseToolAction = mouseToolAction;
         }
 
@@ -2883,9 +3219,11 @@ public class API {
             inputState.mTextInputMouseX = Gdx.input.getX();
             inputState.mTextInputUnlock = false;
             inputState.openMouseTextInput = mouseTextInput;
+            UICommons.ui_setDirty(inputState, mouseTextInput);
         }
 
         public void close() {
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             inputState.openMouseTextInput = null;
         }
 
@@ -2923,27 +3261,32 @@ public class API {
 
         public void enterCharacter(char character) {
             if (inputState.openMouseTextInput == null) return;
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             inputState.mTextInputAPICharacterQueue.add(character);
         }
 
         public void selectCharacter(char character) {
             if (inputState.openMouseTextInput == null) return;
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             UICommons.mouseTextInput_selectCharacter(inputState.openMouseTextInput, character);
         }
 
         public void selectIndex(int index) {
             if (inputState.openMouseTextInput == null) return;
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             UICommons.mouseTextInput_selectIndex(inputState.openMouseTextInput, index);
         }
 
         public void setCharacters(char[] charactersLC, char[] charactersUC) {
             if (inputState.openMouseTextInput == null) return;
             if (charactersLC == null || charactersUC == null) return;
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             UICommons.mouseTextInput_setCharacters(inputState.openMouseTextInput, charactersLC, charactersUC);
         }
 
         public void setAlpha(float a) {
             if (inputState.openMouseTextInput == null) return;
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             inputState.openMouseTextInput.color_a = a;
         }
 
@@ -2954,6 +3297,7 @@ public class API {
 
         public void setColor(float r, float g, float b, float a) {
             if (inputState.openMouseTextInput == null) return;
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             inputState.openMouseTextInput.color_r = r;
             inputState.openMouseTextInput.color_g = g;
             inputState.openMouseTextInput.color_b = b;
@@ -2967,6 +3311,7 @@ public class API {
 
         public void setColor2(float r, float g, float b) {
             if (inputState.openMouseTextInput == null) return;
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             inputState.openMouseTextInput.color2_r = r;
             inputState.openMouseTextInput.color2_g = g;
             inputState.openMouseTextInput.color2_b = b;
@@ -2974,17 +3319,20 @@ public class API {
 
         public void setPosition(int x, int y) {
             if (inputState.openMouseTextInput == null) return;
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             inputState.openMouseTextInput.x = x - 6;
             inputState.openMouseTextInput.y = y - 12;
         }
 
         public void setMouseTextInputAction(MouseTextInputAction mouseTextInputAction) {
             if (inputState.openMouseTextInput == null) return;
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             inputState.openMouseTextInput.mouseTextInputAction = mouseTextInputAction;
         }
 
         public void setFont(CMediaFont font) {
             if (inputState.openMouseTextInput == null) return;
+            UICommons.ui_setDirty(inputState, inputState.openMouseTextInput);
             inputState.openMouseTextInput.font = font;
         }
 
@@ -3527,6 +3875,15 @@ public class API {
                 inputState.config.ui_foldWindowsOnDoubleClick = ui_foldWindowsOnDoubleClick;
             }
 
+            public boolean isRetainedMode() {
+                return inputState.config.ui_retainedMode;
+            }
+
+            public void setRetainedMode(boolean ui_retainedMode) {
+                inputState.frameBuffer_ui_dirty = true;
+                inputState.config.ui_retainedMode = ui_retainedMode;
+            }
+
         }
 
         public class _InputConfig {
@@ -4031,11 +4388,13 @@ public class API {
                         component.scrollBar.setScrolled(scrollBarVertical, 1 - list.scrolled);
                         scrolledLast = list.scrolled;
                     }
-                    // disable scrollbar
+                    // disable scrollbar, only on changes so the UI is not redrawn every frame
                     if (list.items != null && list.items.size() <= list.height) {
-                        component.setDisabled(scrollBarVertical, true);
-                        component.scrollBar.setScrolled(scrollBarVertical, 1f);
-                    } else {
+                        if (!scrollBarVertical.disabled) {
+                            component.setDisabled(scrollBarVertical, true);
+                            component.scrollBar.setScrolled(scrollBarVertical, 1f);
+                        }
+                    } else if (scrollBarVertical.disabled) {
                         component.setDisabled(scrollBarVertical, false);
                     }
                 }
@@ -4043,6 +4402,60 @@ public class API {
             return scrollBarVertical;
         }
 
+        /* #################### Preset - Grid #################### */
+
+        public ScrollBarVertical grid_CreateScrollBarVertical(Grid<?> grid) {
+            ScrollBarVertical scrollBarVertical = component.scrollBar.verticalScrollbar.create(0, 0, grid.height, new ScrollBarAction() {
+                @Override
+                public void onScrolled(float scrolled) {
+                    component.grid.setScrolled(grid, grid.scrollX, MathUtils.round(scrolled * UICommons.grid_getMaxScrollY(grid)));
+                }
+            });
+            component.setPosition(scrollBarVertical, grid.x + (grid.width * UIEngine.TILE_SIZE), grid.y);
+
+            component.addUpdateAction(scrollBarVertical, new UpdateAction() {
+                int scrollYLast = -1;
+                int maxScrollYLast = -1;
+
+                @Override
+                public void onUpdate() {
+                    int maxScrollY = UICommons.grid_getMaxScrollY(grid);
+                    if (scrollYLast == grid.scrollY && maxScrollYLast == maxScrollY) return;
+                    component.setDisabled(scrollBarVertical, maxScrollY == 0);
+                    component.scrollBar.setScrolled(scrollBarVertical, maxScrollY > 0 ? grid.scrollY / (float) maxScrollY : 1f);
+                    scrollYLast = grid.scrollY;
+                    maxScrollYLast = maxScrollY;
+                }
+            });
+            return scrollBarVertical;
+        }
+
+        public ScrollBarHorizontal grid_CreateScrollBarHorizontal(Grid<?> grid) {
+            ScrollBarHorizontal scrollBarHorizontal = component.scrollBar.horizontalScrollbar.create(0, 0, grid.width, new ScrollBarAction() {
+                @Override
+                public void onScrolled(float scrolled) {
+                    component.grid.setScrolled(grid, MathUtils.round(scrolled * UICommons.grid_getMaxScrollX(grid)), grid.scrollY);
+                }
+            });
+            component.setPosition(scrollBarHorizontal, grid.x, grid.y - UIEngine.TILE_SIZE);
+
+            component.addUpdateAction(scrollBarHorizontal, new UpdateAction() {
+                int scrollXLast = -1;
+                int maxScrollXLast = -1;
+
+                @Override
+                public void onUpdate() {
+                    int maxScrollX = UICommons.grid_getMaxScrollX(grid);
+                    if (scrollXLast == grid.scrollX && maxScrollXLast == maxScrollX) return;
+                    component.setDisabled(scrollBarHorizontal, maxScrollX == 0);
+                    component.scrollBar.setScrolled(scrollBarHorizontal, maxScrollX > 0 ? grid.scrollX / (float) maxScrollX : 0f);
+                    scrollXLast = grid.scrollX;
+                    maxScrollXLast = maxScrollX;
+                }
+            });
+            return scrollBarHorizontal;
+        }
+
         /* #################### Preset - Text #################### */
 
         public Text[][] text_CreateTable(int x, int y, String[] column1Text, int col1Width) {
@@ -4103,6 +4516,7 @@ public class API {
             component.text.setTextAction(textField, new TextAction() {
                 @Override
                 public void onMouseScroll(float scrolled) {
+                    UICommons.ui_setDirty(inputState, scrollBarVertical);
                     float scrollAmount = (-1 / (float) Tools.Calc.lowerBounds(textConverted.length, 1)) * input.mouse.event.scrolledAmount();
                     UICommons.scrollBar_scroll(scrollBarVertical, scrollBarVertical.scrolled + scrollAmount);
                 }
@@ -4110,6 +4524,7 @@ public class API {
             component.scrollBar.setScrollBarAction(scrollBarVertical, new ScrollBarAction() {
                 @Override
                 public void onScrolled(float scrolledPct) {
+                    UICommons.ui_setDirty(inputState, textField);
                     float scrolled = 1f - scrolledPct;
 
                     int scrolledTextIndex;
@@ -4171,16 +4586,22 @@ public class API {
                 }
             });
             component.addUpdateAction(hlText, new UpdateAction(0) {
+                int hoverLast = -1;
+
                 @Override
                 public void onUpdate() {
-                    if (Tools.Calc.pointRectsCollide(
+                    int hover = Tools.Calc.pointRectsCollide(
                             input.mouse.state.xUI(),
                             input.mouse.state.yUI(),
                             component.absoluteX(hlText),
                             component.absoluteY(hlText),
                             hlText.width * UIEngine.TILE_SIZE,
                             hlText.height * UIEngine.TILE_SIZE
-                    )) {
+                    ) ? 1 : 0;
+                    // only on changes so the UI is not redrawn every frame
+                    if (hover == hoverLast) return;
+                    hoverLast = hover;
+                    if (hover == 1) {
                         component.text.setFont(hlText, fontHover);
                         component.text.setLines(hlText, textHover);
                     } else {
@@ -4199,11 +4620,13 @@ public class API {
             return new HotKeyAction() {
                 @Override
                 public void onPress() {
+                    UICommons.ui_setDirty(inputState, button);
                     UICommons.button_press(button);
                 }
 
                 @Override
                 public void onRelease() {
+                    UICommons.ui_setDirty(inputState, button);
                     UICommons.button_release(button);
                 }
             };
@@ -4952,6 +5375,7 @@ public class API {
 
     public void addNotification(Notification notification) {
         if (notification == null) return;
+        UICommons.ui_setDirty(inputState, notification);
         UICommons.notification_addToScreen(inputState, notification, inputState.config.notification_max);
     }
 
@@ -4962,6 +5386,7 @@ public class API {
 
     public void removeNotification(Notification notification) {
         if (notification == null) return;
+        UICommons.ui_setDirty(inputState, notification);
         UICommons.notification_removeFromScreen(inputState, notification);
     }
 
@@ -5000,15 +5425,18 @@ public class API {
     }
 
     public void openContextMenu(ContextMenu contextMenu) {
+        UICommons.ui_setDirty(inputState, contextMenu);
         UICommons.contextMenu_openAtMousePosition(inputState, mediaManager, contextMenu);
     }
 
     public void openContextMenu(ContextMenu contextMenu, int x, int y) {
         if (contextMenu == null) return;
+        UICommons.ui_setDirty(inputState, contextMenu);
         UICommons.contextMenu_open(inputState, mediaManager, contextMenu, x, y);
     }
 
     public void closeContextMenu(ContextMenu contextMenu) {
+        UICommons.ui_setDirty(inputState, contextMenu);
         UICommons.contextMenu_close(inputState, contextMenu);
     }
 
@@ -5023,6 +5451,7 @@ public class API {
     }
 
     public void addWindow(Window window) {
+        UICommons.ui_setDirty(inputState, window);
         if (window == null) return;
         UICommons.window_addToScreen(inputState, window);
     }
@@ -5033,6 +5462,7 @@ public class API {
     }
 
     public void removeWindow(Window window) {
+        UICommons.ui_setDirty(inputState, window);
         if (window == null) return;
         UICommons.window_removeFromScreen(inputState, window);
     }
@@ -5061,6 +5491,7 @@ public class API {
     }
 
     public void sendMessageToWindow(Window window, String message_type, Object... content) {
+        UICommons.ui_setDirty(inputState, window);
         if (window == null || message_type == null) return;
         UICommons.window_receiveMessage(window, message_type, content);
     }
@@ -5072,8 +5503,11 @@ public class API {
     }
 
     public void windowsEnforceScreenBounds() {
-        for (int i = 0; i < inputState.windows.size(); i++)
-            UICommons.window_enforceScreenBounds(inputState, inputState.windows.get(i));
+        for (int i = 0; i < inputState.windows.size(); i++) {
+            Window window = inputState.windows.get(i);
+            UICommons.ui_setDirty(inputState, window);
+            UICommons.window_enforceScreenBounds(inputState, window);
+        }
     }
 
     /* #################### Modal #################### */
@@ -5083,12 +5517,14 @@ public class API {
     }
 
     public void addWindowAsModal(Window modalWindow) {
+        UICommons.ui_setDirty(inputState, modalWindow);
         if (modalWindow == null) return;
         UICommons.window_addToScreenAsModal(inputState, modalWindow);
     }
 
     public void removeCurrentModalWindow() {
         if (inputState.modalWindow == null) return;
+        UICommons.ui_setDirty(inputState, inputState.modalWindow);
         UICommons.window_removeFromScreen(inputState, inputState.modalWindow);
     }
 
@@ -5108,6 +5544,7 @@ public class API {
     }
 
     public void addScreenComponent(Component component) {
+        UICommons.ui_setDirty(inputState, component);
         if (component == null) return;
         UICommons.component_addToScreen(component, inputState);
     }
@@ -5118,6 +5555,7 @@ public class API {
     }
 
     public void removeScreenComponent(Component component) {
+        UICommons.ui_setDirty(inputState, component);
         if (component == null) return;
         UICommons.component_removeFromScreen(component, inputState);
     }
@@ -5152,6 +5590,7 @@ public class API {
     }
 
     public void setMouseTool(MouseTool mouseTool) {
+        UICommons.ui_setDirty(inputState, mouseTool);
         inputState.mouseTool = mouseTool;
     }
 
@@ -5225,9 +5664,19 @@ public class API {
 
     /* #################### Misc #################### */
 
+    /**
+     * Forces the UI and all cached window layers to be redrawn next frame.
+     * Needed in retained mode when renderUIBefore/renderUIAfter or code outside of the API change what is displayed.
+     */
+    public void redrawUI() {
+        inputState.frameBuffer_ui_dirty = true;
+        for (int i = 0; i < inputState.windows.size(); i++) inputState.windows.get(i).layerDirty = true;
+    }
+
     public void executeSingleUpdateAction(UpdateAction updateAction) {
         if (updateAction == null) return;
         this.inputState.singleUpdateActions.add(updateAction);
+        if (!inputState.updateActionScheduler_dirty) inputState.updateActionScheduler.add(updateAction, null);
     }
 
     public void overrideCursor(CMediaCursor temporaryCursor) {
@@ -5237,6 +5686,7 @@ public class API {
     }
 
     public void setAppToolTip(ToolTip toolTip) {
+        UICommons.ui_setDirty(inputState, toolTip);
         inputState.appToolTip = toolTip;
     }
 
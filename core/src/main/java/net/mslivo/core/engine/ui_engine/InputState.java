@@ -12,9 +12,12 @@ import com.badlogic.gdx.utils.viewport.Viewport;
 import net.mslivo.core.engine.ui_engine.enums.MOUSE_CONTROL_MODE;
 import net.mslivo.core.engine.ui_engine.enums.VIEWPORT_MODE;
 import net.mslivo.core.engine.ui_engine.render.SpriteRenderer;
+import net.mslivo.core.engine.ui_engine.render.misc.DirtyRectangles;
 import net.mslivo.core.engine.ui_engine.render.misc.NestedFrameBuffer;
+import net.mslivo.core.engine.ui_engine.render.misc.NestedFrameBufferPool;
 import net.mslivo.core.engine.ui_engine.ui.Window;
 import net.mslivo.core.engine.ui_engine.ui.actions.UpdateAction;
+import net.mslivo.core.engine.ui_engine.ui.actions.UpdateActionScheduler;
 import net.mslivo.core.engine.ui_engine.ui.components.Component;
 import net.mslivo.core.engine.ui_engine.ui.components.knob.Knob;
 import net.mslivo.core.engine.ui_engine.ui.components.canvas.Canvas;
@@ -36,6 +39,7 @@ import net.mslivo.core.engine.ui_engine.ui.contextmenu.ContextMenu;
 import net.mslivo.core.engine.ui_engine.ui.contextmenu.ContextMenuItem;
 import net.mslivo.core.engine.ui_engine.ui.notification.Notification;
 import net.mslivo.core.engine.ui_engine.ui.ostextinput.MouseTextInput;
+import net.mslivo.core.engine.ui_engine.input.HitTestGrid;
 import net.mslivo.core.engine.ui_engine.input.InputEvents;
 import net.mslivo.core.engine.ui_engine.input.UIEngineInputProcessor;
 import net.mslivo.core.engine.ui_engine.config.Config;
@@ -64,6 +68,24 @@ public class InputState {
     public TextureRegion texture_ui;
     public OrthographicCamera camera_ui;
     public NestedFrameBuffer frameBuffer_ui;
+    public boolean frameBuffer_ui_dirty; // Retained mode: UI needs to be redrawn
+    public boolean frameBuffer_ui_animated; // Retained mode: last UI frame contained animations
+    public int frameBuffer_ui_mouseX, frameBuffer_ui_mouseY;
+    public CMediaCursor frameBuffer_ui_cursor;
+    public DirtyRectangles frameBuffer_ui_dirtyRectangles;
+    public ArrayList<Object> frameBuffer_ui_dirtyObjects; // Retained mode: objects whose bounds are redrawn after their change
+    public ArrayList<Object> frameBuffer_ui_animatedObjects;
+    public boolean frameBuffer_ui_animatedUnbound; // Retained mode: animation drawn outside of a window/component
+    public Object frameBuffer_ui_renderObject;
+    public boolean frameBuffer_ui_clipped;
+    public int frameBuffer_ui_clipX, frameBuffer_ui_clipY, frameBuffer_ui_clipWidth, frameBuffer_ui_clipHeight;
+    public ToolTip frameBuffer_ui_tooltip;
+    public int frameBuffer_ui_tooltipX, frameBuffer_ui_tooltipY, frameBuffer_ui_tooltipWidth, frameBuffer_ui_tooltipHeight;
+    public int frameBuffer_ui_notifications;
+    public Window frameBuffer_ui_modalWindow;
+    public NestedFrameBufferPool frameBufferPool_windowLayers;
+    public OrthographicCamera camera_windowLayers;
+    public Window lastUIMouseHoverWindow;
 
     /* #################### Graphics: Screen #################### */
     public int upscaleFactor_screen;
@@ -82,7 +104,8 @@ public class InputState {
     public ArrayList<HotKey> hotKeys;
     public ArrayList<AppViewPort> appViewPorts;
     public ArrayList<UpdateAction> singleUpdateActions;
-    public ArrayDeque<UpdateAction> singleUpdateActionsRemoveQ;
+    public UpdateActionScheduler updateActionScheduler; // all UpdateActions on screen by due time
+    public boolean updateActionScheduler_dirty;
 
     /* #################### UI: Actively used UI References #################### */
     public Window draggedWindow;
@@ -111,6 +134,7 @@ public class InputState {
     public GridPoint2 draggedGridFrom;
     public GridPoint2 draggedGridOffset;
     public Object draggedGridItem;
+    public long gridAutoScrollTimer;
     public List draggedList;
     public List pressedList;
     public Object pressedListItem;
@@ -142,6 +166,12 @@ public class InputState {
 
     /* #################### Control #################### */
     public Object lastUIMouseHover; // Last GUI Element the mouse hovered over
+    public boolean lastUIMouseHover_dirty;
+    public int lastUIMouseHover_x, lastUIMouseHover_y, lastUIMouseHover_notifications;
+    public ContextMenu lastUIMouseHover_contextMenu;
+    public ComboBox lastUIMouseHover_comboBox;
+    public HitTestGrid hitTestGrid; // Windows & Components by screen position
+    public boolean hitTestGrid_dirty;
     public MOUSE_CONTROL_MODE currentControlMode;
     public GridPoint2 mouse_app;
     public Vector2 mouse_emulated; // Mouse Position for Keyboard/Gamepad mouse control
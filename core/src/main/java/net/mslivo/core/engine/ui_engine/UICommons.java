@@ -8,6 +8,7 @@ import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.IntSet;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.StretchViewport;
@@ -16,7 +17,9 @@ import net.mslivo.core.engine.media_manager.MediaManager;
 import net.mslivo.core.engine.media_manager.media.CMediaSprite;
 import net.mslivo.core.engine.tools.Tools;
 import net.mslivo.core.engine.ui_engine.enums.VIEWPORT_MODE;
+import net.mslivo.core.engine.ui_engine.input.HitTestGrid;
 import net.mslivo.core.engine.ui_engine.input.KeyCode;
+import net.mslivo.core.engine.ui_engine.render.misc.DirtyRectangles;
 import net.mslivo.core.engine.ui_engine.render.misc.NestedFrameBuffer;
 import net.mslivo.core.engine.ui_engine.render.misc.PixelPerfectViewport;
 import net.mslivo.core.engine.ui_engine.ui.Window;
@@ -35,6 +38,7 @@ import net.mslivo.core.engine.ui_engine.ui.components.grid.Grid;
 import net.mslivo.core.engine.ui_engine.ui.components.image.Image;
 import net.mslivo.core.engine.ui_engine.ui.components.knob.Knob;
 import net.mslivo.core.engine.ui_engine.ui.components.list.List;
+import net.mslivo.core.engine.ui_engine.ui.components.list.ListRowCache;
 import net.mslivo.core.engine.ui_engine.ui.components.progressbar.ProgressBar;
 import net.mslivo.core.engine.ui_engine.ui.components.progressbar.ProgressBarPercentText;
 import net.mslivo.core.engine.ui_engine.ui.components.scrollbar.ScrollBar;
@@ -161,13 +165,15 @@ class UICommons {
         return inputState.modalWindow != null;
     }
 
-    static void window_fold(Window window) {
+    static void window_fold(InputState inputState, Window window) {
         window.folded = true;
+        inputState.hitTestGrid_dirty = true;
         if (window.windowAction != null) window.windowAction.onFold();
     }
 
-    static void window_unFold(Window window) {
+    static void window_unFold(InputState inputState, Window window) {
         window.folded = false;
+        inputState.hitTestGrid_dirty = true;
         if (window.windowAction != null) window.windowAction.onUnfold();
     }
 
@@ -181,8 +187,78 @@ class UICommons {
         }
     }
 
+    static void ui_setDirty(InputState inputState, Object uiObject) {
+        inputState.lastUIMouseHover_dirty = true;
+        Window window = switch (uiObject) {
+            case Window w -> w;
+            case Component component -> component.addedToWindow;
+            case Tab tab -> tab.addedToTabBar != null ? tab.addedToTabBar.addedToWindow : null;
+            case ComboBoxItem comboBoxItem -> comboBoxItem.addedToComboBox != null ? comboBoxItem.addedToComboBox.addedToWindow : null;
+            case CanvasImage canvasImage -> canvasImage.addedToCanvas != null ? canvasImage.addedToCanvas.addedToWindow : null;
+            case null, default -> null;
+        };
+        if (window != null) window.layerDirty = true;
+
+        if (ui_isDirtyRectanglesEnabled(inputState)) {
+            if (uiObject == null) return;
+            // Bounds before the change now, bounds after the change on the next render
+            if (ui_addDirtyRectangle(inputState, uiObject) && inputState.frameBuffer_ui_dirtyObjects.size() < 256) {
+                inputState.frameBuffer_ui_dirtyObjects.add(uiObject);
+            } else {
+                inputState.frameBuffer_ui_dirty = true;
+            }
+        } else {
+            inputState.frameBuffer_ui_dirty = true;
+        }
+    }
+
+    static boolean ui_isDirtyRectanglesEnabled(InputState inputState) {
+        return inputState.config.ui_retainedMode && inputState.config.ui_dirtyRectangles;
+    }
+
+    static boolean ui_addDirtyRectangle(InputState inputState, Object uiObject) {
+        DirtyRectangles dirtyRectangles = inputState.frameBuffer_ui_dirtyRectangles;
+        switch (uiObject) {
+            case Window window -> {
+                dirtyRectangles.add(window.x, window.y, window_getAbsoluteWidth(window), window_getAbsoluteHeight(window));
+                return true;
+            }
+            case TabBar tabBar -> {
+                // Switching tabs shows/hides components anywhere in the window
+                if (tabBar.addedToWindow == null) return false;
+                return ui_addDirtyRectangle(inputState, tabBar.addedToWindow);
+            }
+            case Component component -> {
+                dirtyRectangles.add(component_getAbsoluteX(component), component_getRenderAreaY(component),
+                        component.width * UIEngine.TILE_SIZE, component_getRenderAreaHeight(component));
+                return true;
+            }
+            case Tab tab -> {
+                return tab.addedToTabBar != null && ui_addDirtyRectangle(inputState, tab.addedToTabBar);
+            }
+            case ComboBoxItem comboBoxItem -> {
+                return comboBoxItem.addedToComboBox != null && ui_addDirtyRectangle(inputState, comboBoxItem.addedToComboBox);
+            }
+            case CanvasImage canvasImage -> {
+                return canvasImage.addedToCanvas != null && ui_addDirtyRectangle(inputState, canvasImage.addedToCanvas);
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    static void window_releaseLayer(InputState inputState, Window window) {
+        if (window.layerFrameBuffer == null) return;
+        inputState.frameBufferPool_windowLayers.free(window.layerFrameBuffer);
+        window.layerFrameBuffer = null;
+        window.layerTexture = null;
+        window.layerDirty = true;
+    }
+
     static void window_bringToFront(InputState inputState, Window window) {
         if (inputState.windows.size() == 1) return;
+        inputState.hitTestGrid_dirty = true;
         if (window.alwaysOnTop) {
             if (inputState.windows.getLast() != window) {
                 inputState.windows.remove(window);
@@ -209,6 +285,7 @@ class UICommons {
     static void window_setPosition(InputState inputState, Window window, int x, int y) {
         window.x = x;
         window.y = y;
+        inputState.hitTestGrid_dirty = true;
         if (window.enforceScreenBounds) window_enforceScreenBounds(inputState, window);
     }
 
@@ -247,6 +324,8 @@ class UICommons {
         if (window.addedToScreen) return;
         window.addedToScreen = true;
         inputState.windows.add(window);
+        inputState.hitTestGrid_dirty = true;
+        inputState.updateActionScheduler_dirty = true;
         resetActivelyUsedUIReferences(inputState);
         if (window.windowAction != null) window.windowAction.onAdd();
     }
@@ -270,6 +349,9 @@ class UICommons {
         if (UICommons.window_isModalOpen(inputState) && inputState.modalWindow == window) inputState.modalWindow = null;
         window.addedToScreen = false;
         inputState.windows.remove(window);
+        inputState.hitTestGrid_dirty = true;
+        inputState.updateActionScheduler_dirty = true;
+        window_releaseLayer(inputState, window);
         resetActivelyUsedUIReferences(inputState);
         if (window.windowAction != null) window.windowAction.onRemove();
         // Add Next Modal if in queue
@@ -280,6 +362,7 @@ class UICommons {
     static void component_setSize(InputState inputState, Component component, int width, int height) {
         component.width = Tools.Calc.lowerBounds(width, 1);
         component.height = Tools.Calc.lowerBounds(height, 1);
+        inputState.hitTestGrid_dirty = true;
 
         if (component instanceof AppViewPort appViewPort) {
             appViewPort_resizeCameraTextureAndFrameBuffer(appViewPort);
@@ -297,6 +380,17 @@ class UICommons {
         return component.addedToWindow != null ? component.addedToWindow.y : 0;
     }
 
+    static int component_getRenderAreaY(Component component) {
+        // Includes the ComboBox menu below the component
+        int menuHeight = component instanceof ComboBox comboBox ? comboBox.comboBoxItems.size() * UIEngine.TILE_SIZE : 0;
+        return component_getAbsoluteY(component) - menuHeight;
+    }
+
+    static int component_getRenderAreaHeight(Component component) {
+        int menuHeight = component instanceof ComboBox comboBox ? comboBox.comboBoxItems.size() * UIEngine.TILE_SIZE : 0;
+        return (component.height * UIEngine.TILE_SIZE) + menuHeight;
+    }
+
     static int component_getAbsoluteX(Component component) {
         return component_getParentWindowX(component) + component.x;
     }
@@ -349,7 +443,30 @@ class UICommons {
             }
         }
 
-        // Window / WindowComponent collision
+        // Window / Component collision via hit test index
+        int cell = inputState.hitTestGrid.cellAt(x, y);
+        if (cell != -1) {
+            hitTest_updateIndex(inputState);
+            IntArray entries = inputState.hitTestGrid.cellEntries(cell);
+            for (int i = 0; i < entries.size; i++) {
+                int entry = entries.get(i);
+                if (!inputState.hitTestGrid.contains(entry, x, y)) continue;
+                switch (inputState.hitTestGrid.object(entry)) {
+                    case Window window -> {
+                        if (window.visible) return window;
+                    }
+                    case Component component -> {
+                        if ((component.addedToWindow == null || component.addedToWindow.visible) && component_isComponentAtPosition(x, y, component))
+                            return component;
+                    }
+                    case null, default -> {
+                    }
+                }
+            }
+            return null;
+        }
+
+        // Outside of the index
         windowLoop:
         for (int i = inputState.windows.size() - 1; i >= 0; i--) { // use for(i) to avoid iterator creation
             Window window = inputState.windows.get(i);
@@ -380,6 +497,35 @@ class UICommons {
         return null;
     }
 
+    static void hitTest_updateIndex(InputState inputState) {
+        if (!inputState.hitTestGrid_dirty) return;
+        HitTestGrid hitTestGrid = inputState.hitTestGrid;
+        hitTestGrid.clear();
+        // Insert in hit priority: windows top to bottom with their components first, then screen components
+        for (int i = inputState.windows.size() - 1; i >= 0; i--) {
+            Window window = inputState.windows.get(i);
+            int wndX = window.x;
+            int wndY = window.y + (window.folded ? ((window.height - 1) * UIEngine.TILE_SIZE) : 0);
+            int wndWidth = UICommons.window_getAbsoluteWidth(window);
+            int wndHeight = window.folded ? UIEngine.TILE_SIZE : UICommons.window_getAbsoluteHeight(window);
+            for (int ic = window.components.size() - 1; ic >= 0; ic--) {
+                Component component = window.components.get(ic);
+                int x1 = Math.max(UICommons.component_getAbsoluteX(component), wndX);
+                int y1 = Math.max(UICommons.component_getAbsoluteY(component), wndY);
+                int x2 = Math.min(UICommons.component_getAbsoluteX(component) + (component.width * UIEngine.TILE_SIZE), wndX + wndWidth);
+                int y2 = Math.min(UICommons.component_getAbsoluteY(component) + (component.height * UIEngine.TILE_SIZE), wndY + wndHeight);
+                hitTestGrid.add(component, x1, y1, x2 - x1, y2 - y1);
+            }
+            hitTestGrid.add(window, wndX, wndY, wndWidth, wndHeight);
+        }
+        for (int i = 0; i < inputState.screenComponents.size(); i++) {
+            Component component = inputState.screenComponents.get(i);
+            hitTestGrid.add(component, UICommons.component_getAbsoluteX(component), UICommons.component_getAbsoluteY(component),
+                    component.width * UIEngine.TILE_SIZE, component.height * UIEngine.TILE_SIZE);
+        }
+        inputState.hitTestGrid_dirty = false;
+    }
+
     static boolean component_isComponentAtPosition(int x, int y, Component component) {
         if (!component.visible) return false;
         if (component.disabled) return false;
@@ -680,12 +826,47 @@ class UICommons {
     static void grid_updateSize(Grid grid) {
         int factor = grid.doubleSized ? 2 : 1;
         if (grid.items != null) {
-            grid.width = grid.items.length * factor;
-            grid.height = grid.items[0].length * factor;
+            grid.width = grid_getVisibleWidth(grid) * factor;
+            grid.height = grid_getVisibleHeight(grid) * factor;
         } else {
             grid.width = 1;
             grid.height = 1;
         }
+        grid.scrollX = Tools.Calc.inBounds(grid.scrollX, 0, grid_getMaxScrollX(grid));
+        grid.scrollY = Tools.Calc.inBounds(grid.scrollY, 0, grid_getMaxScrollY(grid));
+    }
+
+    static int grid_getVisibleWidth(Grid<?> grid) {
+        if (grid.items == null) return 0;
+        return grid.viewportWidth > 0 ? Math.min(grid.viewportWidth, grid.items.length) : grid.items.length;
+    }
+
+    static int grid_getVisibleHeight(Grid<?> grid) {
+        if (grid.items == null) return 0;
+        return grid.viewportHeight > 0 ? Math.min(grid.viewportHeight, grid.items[0].length) : grid.items[0].length;
+    }
+
+    static int grid_getMaxScrollX(Grid<?> grid) {
+        return grid.items != null ? grid.items.length - grid_getVisibleWidth(grid) : 0;
+    }
+
+    static int grid_getMaxScrollY(Grid<?> grid) {
+        return grid.items != null ? grid.items[0].length - grid_getVisibleHeight(grid) : 0;
+    }
+
+    static void grid_setViewport(Grid<?> grid, int viewportWidth, int viewportHeight) {
+        grid.viewportWidth = Tools.Calc.lowerBounds(viewportWidth, 0);
+        grid.viewportHeight = Tools.Calc.lowerBounds(viewportHeight, 0);
+        grid_updateSize(grid);
+    }
+
+    static void grid_scroll(Grid<?> grid, int scrollX, int scrollY) {
+        scrollX = Tools.Calc.inBounds(scrollX, 0, grid_getMaxScrollX(grid));
+        scrollY = Tools.Calc.inBounds(scrollY, 0, grid_getMaxScrollY(grid));
+        if (scrollX == grid.scrollX && scrollY == grid.scrollY) return;
+        grid.scrollX = scrollX;
+        grid.scrollY = scrollY;
+        if (grid.gridAction != null) grid.gridAction.onScrolled(grid.scrollX, grid.scrollY);
     }
 
 
@@ -696,17 +877,50 @@ class UICommons {
                 textField.offset--;
             }
         } else {
-            String subContent = textField.content.substring(textField.offset, textField.markerPosition);
             int width = (textField.width * UIEngine.TILE_SIZE) - 4;
-            if (mediaManager.textWidth(textField.font, subContent) > width) {
-                while (mediaManager.textWidth(textField.font, subContent) > width) {
-                    textField.offset++;
-                    subContent = textField.content.substring(textField.offset, textField.markerPosition);
-                }
+            while (textField_getTextWidth(mediaManager, textField, textField.offset, textField.markerPosition) > width) {
+                textField.offset++;
             }
         }
     }
 
+    static int textField_getTextWidth(MediaManager mediaManager, TextField textField, int from, int to) {
+        if (textField.font == null || textField.content == null || from >= to) return 0;
+        textField_updatePrefixWidths(textField, from);
+        int index = to - from;
+        if (textField.prefixWidths[index] == -1) {
+            textField.prefixWidths[index] = mediaManager.textWidth(textField.font, textField.content, from, to);
+        }
+        return textField.prefixWidths[index];
+    }
+
+    private static void textField_updatePrefixWidths(TextField textField, int from) {
+        // Measured prefixes are kept as long as font, start position and the content before them stay the same
+        String content = textField.content;
+        int length = (content.length() - from) + 1;
+        if (textField.prefixWidths == null || textField.prefixWidths.length < length) {
+            int[] prefixWidths = new int[Math.max(length, 16)];
+            Arrays.fill(prefixWidths, -1);
+            if (textField.prefixWidths != null)
+                System.arraycopy(textField.prefixWidths, 0, prefixWidths, 0, textField.prefixWidths.length);
+            textField.prefixWidths = prefixWidths;
+        }
+        if (textField.prefixWidthsFont != textField.font || textField.prefixWidthsFrom != from) {
+            Arrays.fill(textField.prefixWidths, -1);
+            textField.prefixWidthsFont = textField.font;
+            textField.prefixWidthsFrom = from;
+            textField.prefixWidthsContent = content;
+        } else if (textField.prefixWidthsContent != content) {
+            String previousContent = textField.prefixWidthsContent;
+            int common = 0;
+            int commonMax = previousContent != null ? Math.min(previousContent.length(), content.length()) : 0;
+            while (common < commonMax && previousContent.charAt(common) == content.charAt(common)) common++;
+            int validUntil = Tools.Calc.lowerBounds(common - from, 0);
+            Arrays.fill(textField.prefixWidths, validUntil + 1, textField.prefixWidths.length, -1);
+            textField.prefixWidthsContent = content;
+        }
+    }
+
     static boolean textField_isControlKey(int keyCode) {
         return textFieldControlKeys.contains(keyCode);
     }
@@ -774,6 +988,8 @@ class UICommons {
         if (component instanceof AppViewPort appViewPort) inputState.appViewPorts.add(appViewPort);
         component.addedToWindow = window;
         window.components.add(component);
+        inputState.hitTestGrid_dirty = true;
+        inputState.updateActionScheduler_dirty = true;
         resetActivelyUsedUIReferences(inputState);
     }
 
@@ -783,6 +999,8 @@ class UICommons {
         if (component instanceof AppViewPort appViewPort) inputState.appViewPorts.add(appViewPort);
         component.addedToScreen = true;
         inputState.screenComponents.add(component);
+        inputState.hitTestGrid_dirty = true;
+        inputState.updateActionScheduler_dirty = true;
         resetActivelyUsedUIReferences(inputState);
     }
 
@@ -794,6 +1012,8 @@ class UICommons {
         if (component instanceof AppViewPort appViewPort) inputState.appViewPorts.remove(appViewPort);
         component.addedToScreen = true;
         inputState.screenComponents.remove(component);
+        inputState.hitTestGrid_dirty = true;
+        inputState.updateActionScheduler_dirty = true;
         resetActivelyUsedUIReferences(inputState);
     }
 
@@ -805,6 +1025,8 @@ class UICommons {
         if (component instanceof AppViewPort appViewPort) inputState.appViewPorts.remove(appViewPort);
         component.addedToWindow = null;
         component.addedToWindow.components.remove(component);
+        inputState.hitTestGrid_dirty = true;
+        inputState.updateActionScheduler_dirty = true;
         resetActivelyUsedUIReferences(inputState);
     }
 
@@ -975,6 +1197,7 @@ class UICommons {
     static void list_setMultiSelect(List list, boolean multiSelect) {
         // Clear selecteditem/items after mode switch
         list.multiSelect = multiSelect;
+        list_invalidateRowCache(list);
         if (multiSelect) {
             list.selectedItem = null;
         } else {
@@ -1086,8 +1309,8 @@ class UICommons {
         int tileSize = grid.doubleSized ? UIEngine.TILE_SIZE * 2 : UIEngine.TILE_SIZE;
         int x_grid = UICommons.component_getAbsoluteX(grid);
         int y_grid = UICommons.component_getAbsoluteY(grid);
-        int inv_to_x = (inputState.mouse_ui.x - x_grid) / tileSize;
-        int inv_to_y = (inputState.mouse_ui.y - y_grid) / tileSize;
+        int inv_to_x = ((inputState.mouse_ui.x - x_grid) / tileSize) + grid.scrollX;
+        int inv_to_y = ((inputState.mouse_ui.y - y_grid) / tileSize) + grid.scrollY;
         if (UICommons.grid_positionValid(grid, inv_to_x, inv_to_y)) {
             inputState.itemInfo_gridPos.x = inv_to_x;
             inputState.itemInfo_gridPos.y = inv_to_y;
@@ -1225,6 +1448,70 @@ class UICommons {
         if (list.listAction != null) list.listAction.onScrolled(list.scrolled);
     }
 
+    static void list_setRowCacheEnabled(List<?> list, boolean enabled) {
+        if (enabled) {
+            if (list.rowCache == null) list.rowCache = new ListRowCache();
+        } else {
+            list.rowCache = null;
+        }
+    }
+
+    static void list_invalidateRowCache(List<?> list) {
+        list.rowCacheVersion++;
+    }
+
+    static void list_invalidateRowCacheItem(List<?> list, Object item) {
+        if (list.rowCache == null || list.rowCache.items == null) return;
+        for (int i = 0; i < list.rowCache.items.length; i++) {
+            if (list.rowCache.items[i] == item) list.rowCache.valid[i] = false;
+        }
+    }
+
+    static void list_prepareRowCache(List<?> list, int itemFrom) {
+        // Rows are keyed by item identity, rendering calls ListAction only for rows that are not valid anymore
+        ListRowCache rowCache = list.rowCache;
+        int rows = list.height;
+        if (rowCache.items == null || rowCache.items.length != rows) {
+            rowCache.items = new Object[rows];
+            rowCache.valid = new boolean[rows];
+            rowCache.texts = new String[rows];
+            rowCache.cellColors = new Color[rows];
+            rowCache.icons = new CMediaSprite[rows];
+            rowCache.iconIndexes = new int[rows];
+            rowCache.selected = new boolean[rows];
+            rowCache.itemFrom = itemFrom;
+            rowCache.version = list.rowCacheVersion;
+        } else if (rowCache.version != list.rowCacheVersion) {
+            Arrays.fill(rowCache.valid, false);
+            rowCache.version = list.rowCacheVersion;
+        }
+
+        // Move cached rows along when scrolled
+        int shift = itemFrom - rowCache.itemFrom;
+        if (shift != 0) {
+            if (Math.abs(shift) >= rows) {
+                Arrays.fill(rowCache.valid, false);
+            } else {
+                int from = shift > 0 ? shift : 0;
+                int to = shift > 0 ? 0 : -shift;
+                int length = rows - Math.abs(shift);
+                System.arraycopy(rowCache.items, from, rowCache.items, to, length);
+                System.arraycopy(rowCache.valid, from, rowCache.valid, to, length);
+                System.arraycopy(rowCache.texts, from, rowCache.texts, to, length);
+                System.arraycopy(rowCache.cellColors, from, rowCache.cellColors, to, length);
+                System.arraycopy(rowCache.icons, from, rowCache.icons, to, length);
+                System.arraycopy(rowCache.iconIndexes, from, rowCache.iconIndexes, to, length);
+                System.arraycopy(rowCache.selected, from, rowCache.selected, to, length);
+                if (shift > 0) {
+                    Arrays.fill(rowCache.valid, length, rows, false);
+                } else {
+                    Arrays.fill(rowCache.valid, 0, -shift, false);
+                }
+            }
+            rowCache.itemFrom = itemFrom;
+        }
+    }
+
     static void canvas_setAllPoints(Canvas canvas, float r, float g, float b, float a) {
         int width = canvas.width * UIEngine.TILE_SIZE;
         int height = canvas.height * UIEngine.TILE_SIZE;
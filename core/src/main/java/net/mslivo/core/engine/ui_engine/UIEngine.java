@@ -10,7 +10,9 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.IntArray;
 import net.mslivo.core.engine.media_manager.MediaManager;
+import net.mslivo.core.engine.media_manager.media.CMediaAnimation;
 import net.mslivo.core.engine.media_manager.media.CMediaArray;
+import net.mslivo.core.engine.media_manager.media.CMediaCursor;
 import net.mslivo.core.engine.media_manager.media.CMediaFont;
 import net.mslivo.core.engine.media_manager.media.CMediaImage;
 import net.mslivo.core.engine.media_manager.media.CMediaSprite;
@@ -18,14 +20,19 @@ import net.mslivo.core.engine.tools.Tools;
 import net.mslivo.core.engine.ui_engine.config.Config;
 import net.mslivo.core.engine.ui_engine.enums.MOUSE_CONTROL_MODE;
 import net.mslivo.core.engine.ui_engine.enums.VIEWPORT_MODE;
+import net.mslivo.core.engine.ui_engine.input.HitTestGrid;
 import net.mslivo.core.engine.ui_engine.input.InputEvents;
 import net.mslivo.core.engine.ui_engine.input.KeyCode;
 import net.mslivo.core.engine.ui_engine.input.UIEngineInputProcessor;
 import net.mslivo.core.engine.ui_engine.render.SpriteRenderer;
+import net.mslivo.core.engine.ui_engine.render.misc.DirtyRectangles;
 import net.mslivo.core.engine.ui_engine.render.misc.NestedFrameBuffer;
+import net.mslivo.core.engine.ui_engine.render.misc.NestedFrameBufferPool;
+import net.mslivo.core.engine.ui_engine.render.misc.TextLayoutCache;
 import net.mslivo.core.engine.ui_engine.ui.Window;
 import net.mslivo.core.engine.ui_engine.ui.actions.CommonActions;
 import net.mslivo.core.engine.ui_engine.ui.actions.UpdateAction;
+import net.mslivo.core.engine.ui_engine.ui.actions.UpdateActionScheduler;
 import net.mslivo.core.engine.ui_engine.ui.components.Component;
 import net.mslivo.core.engine.ui_engine.ui.components.button.Button;
 import net.mslivo.core.engine.ui_engine.ui.components.button.ImageButton;
@@ -40,6 +47,7 @@ import net.mslivo.core.engine.ui_engine.ui.components.grid.Grid;
 import net.mslivo.core.engine.ui_engine.ui.components.image.Image;
 import net.mslivo.core.engine.ui_engine.ui.components.knob.Knob;
 import net.mslivo.core.engine.ui_engine.ui.components.list.List;
+import net.mslivo.core.engine.ui_engine.ui.components.list.ListRowCache;
 import net.mslivo.core.engine.ui_engine.ui.components.progressbar.ProgressBar;
 import net.mslivo.core.engine.ui_engine.ui.components.scrollbar.ScrollBarHorizontal;
 import net.mslivo.core.engine.ui_engine.ui.components.scrollbar.ScrollBarVertical;
@@ -85,6 +93,11 @@ public class UIEngine<T extends UIEngineAdapter> {
     public static final float TILE_SIZE_F2 = TILE_SIZE / 2f;
     public static final String WND_CLOSE_BUTTON = "wnd_close_btn";
     private static final int FONT_MAXWIDTH_NONE = -1;
+    private static final String[] CHARACTER_STRINGS = new String[256];
+
+    static {
+        for (int i = 0; i < CHARACTER_STRINGS.length; i++) CHARACTER_STRINGS[i] = String.valueOf((char) i);
+    }
 
     public T getAdapter() {
         return uiAdapter;
@@ -154,6 +167,31 @@ public class UIEngine<T extends UIEngineAdapter> {
         newInputState.frameBuffer_ui.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
         newInputState.texture_ui = new TextureRegion(newInputState.frameBuffer_ui.getColorBufferTexture());
         newInputState.texture_ui.flip(false, true);
+        newInputState.frameBuffer_ui_dirty = true;
+        newInputState.frameBuffer_ui_animated = false;
+        newInputState.frameBuffer_ui_mouseX = 0;
+        newInputState.frameBuffer_ui_mouseY = 0;
+        newInputState.frameBuffer_ui_cursor = null;
+        newInputState.frameBuffer_ui_dirtyRectangles = new DirtyRectangles(newInputState.resolutionWidth_ui, newInputState.resolutionHeight_ui, newInputState.config.ui_dirtyRectanglesMax);
+        newInputState.frameBuffer_ui_dirtyObjects = new ArrayList<>();
+        newInputState.frameBuffer_ui_animatedObjects = new ArrayList<>();
+        newInputState.frameBuffer_ui_animatedUnbound = false;
+        newInputState.frameBuffer_ui_renderObject = null;
+        newInputState.frameBuffer_ui_clipped = false;
+        newInputState.frameBuffer_ui_clipX = 0;
+        newInputState.frameBuffer_ui_clipY = 0;
+        newInputState.frameBuffer_ui_clipWidth = 0;
+        newInputState.frameBuffer_ui_clipHeight = 0;
+        newInputState.frameBuffer_ui_tooltip = null;
+        newInputState.frameBuffer_ui_tooltipX = 0;
+        newInputState.frameBuffer_ui_tooltipY = 0;
+        newInputState.frameBuffer_ui_tooltipWidth = 0;
+        newInputState.frameBuffer_ui_tooltipHeight = 0;
+        newInputState.frameBuffer_ui_notifications = 0;
+        newInputState.frameBuffer_ui_modalWindow = null;
+        newInputState.frameBufferPool_windowLayers = new NestedFrameBufferPool(Pixmap.Format.RGBA8888);
+        newInputState.camera_windowLayers = new OrthographicCamera();
+        newInputState.lastUIMouseHoverWindow = null;
         // ----- UpScaler
         newInputState.upscaleFactor_screen = UICommons.viewport_determineUpscaleFactor(newInputState.viewportMode, newInputState.resolutionWidth, newInputState.resolutionHeight);
         newInputState.textureFilter_screen = UICommons.viewport_determineUpscaleTextureFilter(newInputState.viewportMode);
@@ -195,7 +233,8 @@ public class UIEngine<T extends UIEngineAdapter> {
         newInputState.hotKeys = new ArrayList<>();
         newInputState.appViewPorts = new ArrayList<>();
         newInputState.singleUpdateActions = new ArrayList<>();
-        newInputState.singleUpdateActionsRemoveQ = new ArrayDeque<>();
+        newInputState.updateActionScheduler = new UpdateActionScheduler();
+        newInputState.updateActionScheduler_dirty = true;
         // ----- Temp GUI Variables
         newInputState.draggedWindow = null;
         newInputState.draggedWindow_offset = new GridPoint2();
@@ -209,6 +248,7 @@ public class UIEngine<T extends UIEngineAdapter> {
         newInputState.scrolledScrollBarVertical = null;
         newInputState.scrolledScrollBarHorizontal = null;
         newInputState.draggedGridItem = null;
+        newInputState.gridAutoScrollTimer = 0;
         newInputState.draggedGrid = null;
         newInputState.draggedGridOffset = new GridPoint2();
         newInputState.draggedGridFrom = new GridPoint2();
@@ -231,6 +271,14 @@ public class UIEngine<T extends UIEngineAdapter> {
         newInputState.mouse_app = new GridPoint2(0, 0);
         newInputState.mouse_delta = new Vector2(0, 0);
         newInputState.lastUIMouseHover = null;
+        newInputState.lastUIMouseHover_dirty = true;
+        newInputState.lastUIMouseHover_x = 0;
+        newInputState.lastUIMouseHover_y = 0;
+        newInputState.lastUIMouseHover_notifications = 0;
+        newInputState.lastUIMouseHover_contextMenu = null;
+        newInputState.lastUIMouseHover_comboBox = null;
+        newInputState.hitTestGrid = new HitTestGrid(newInputState.resolutionWidth_ui, newInputState.resolutionHeight_ui, TILE_SIZE * 4);
+        newInputState.hitTestGrid_dirty = true;
         newInputState.cursor = null;
         newInputState.mouseTool = null;
         newInputState.mouseToolPressed = false;
@@ -267,9 +315,11 @@ public class UIEngine<T extends UIEngineAdapter> {
 
     public void update() {
         // UI
+        this.updateUIDirtyState(false); // Elements before input changes them
         this.updateMouseControl();
         this.updateUI(); // Main UI Updates happen here
         this.updateMouseCursor();
+        this.updateUIDirtyState(true); // Elements after input changed them
 
         // Update Game
         this.uiAdapter.update();
@@ -929,7 +979,21 @@ public class UIEngine<T extends UIEngineAdapter> {
     }
 
     private void mouseControl_updateLastUIMouseHover() {
+        // Only recompute if the mouse moved or the UI changed
+        if (!inputState.lastUIMouseHover_dirty && !inputState.hitTestGrid_dirty &&
+                inputState.mouse_ui.x == inputState.lastUIMouseHover_x && inputState.mouse_ui.y == inputState.lastUIMouseHover_y &&
+                inputState.notifications.size() == inputState.lastUIMouseHover_notifications &&
+                inputState.openContextMenu == inputState.lastUIMouseHover_contextMenu &&
+                inputState.openComboBox == inputState.lastUIMouseHover_comboBox) {
+            return;
+        }
         inputState.lastUIMouseHover = UICommons.component_getUIObjectAtPosition(inputState, inputState.mouse_ui.x, inputState.mouse_ui.y);
+        inputState.lastUIMouseHover_dirty = false;
+        inputState.lastUIMouseHover_x = inputState.mouse_ui.x;
+        inputState.lastUIMouseHover_y = inputState.mouse_ui.y;
+        inputState.lastUIMouseHover_notifications = inputState.notifications.size();
+        inputState.lastUIMouseHover_contextMenu = inputState.openContextMenu;
+        inputState.lastUIMouseHover_comboBox = inputState.openComboBox;
     }
 
 
@@ -1061,9 +1125,9 @@ public class UIEngine<T extends UIEngineAdapter> {
                         if (inputState.config.ui_foldWindowsOnDoubleClick && mouseDownButton == Input.Buttons.LEFT) {
                             if (window.hasTitleBar && Tools.Calc.pointRectsCollide(inputState.mouse_ui.x, inputState.mouse_ui.y, window.x, window.y + ((window.height - 1) * TILE_SIZE), UICommons.window_getAbsoluteWidth(window), TILE_SIZE)) {
                                 if (window.folded) {
-                                    UICommons.window_unFold(window);
+                                    UICommons.window_unFold(inputState, window);
                                 } else {
-                                    UICommons.window_fold(window);
+                                    UICommons.window_fold(inputState, window);
                                 }
                             }
                         }
@@ -1199,15 +1263,15 @@ public class UIEngine<T extends UIEngineAdapter> {
                             int tileSize = grid.doubleSized ? TILE_SIZE * 2 : TILE_SIZE;
                             int x_grid = UICommons.component_getAbsoluteX(grid);
                             int y_grid = UICommons.component_getAbsoluteY(grid);
-                            int inv_x = (inputState.mouse_ui.x - x_grid) / tileSize;
-                            int inv_y = (inputState.mouse_ui.y - y_grid) / tileSize;
+                            int inv_x = ((inputState.mouse_ui.x - x_grid) / tileSize) + grid.scrollX;
+                            int inv_y = ((inputState.mouse_ui.y - y_grid) / tileSize) + grid.scrollY;
                             if (UICommons.grid_positionValid(grid, inv_x, inv_y)) {
                                 Object pressedGridItem = grid.items[inv_x][inv_y];
                                 if (pressedGridItem != null && grid.dragEnabled) {
                                     inputState.draggedGridFrom.x = inv_x;
                                     inputState.draggedGridFrom.y = inv_y;
-                                    inputState.draggedGridOffset.x = inputState.mouse_ui.x - (x_grid + (inv_x * tileSize));
-                                    inputState.draggedGridOffset.y = inputState.mouse_ui.y - (y_grid + (inv_y * tileSize));
+                                    inputState.draggedGridOffset.x = inputState.mouse_ui.x - (x_grid + ((inv_x - grid.scrollX) * tileSize));
+                                    inputState.draggedGridOffset.y = inputState.mouse_ui.y - (y_grid + ((inv_y - grid.scrollY) * tileSize));
                                     inputState.draggedGridItem = grid.items[inv_x][inv_y];
                                     inputState.draggedGrid = grid;
                                 }
@@ -1414,13 +1478,11 @@ public class UIEngine<T extends UIEngineAdapter> {
                     case TextField textField -> {
                         // Set Marker to mouse position
                         int mouseX = inputState.pressedTextFieldMouseX;
-                        char[] fieldContent = textField.content.substring(textField.offset).toCharArray();
-                        String testString = "";
+                        int fieldContentLength = textField.content.length() - textField.offset;
                         boolean found = false;
                         charLoop:
-                        for (int i = 0; i < fieldContent.length; i++) {
-                            testString += fieldContent[i];
-                            if (render_textWidth(textField.font, testString) > mouseX) {
+                        for (int i = 0; i < fieldContentLength; i++) {
+                            if (UICommons.textField_getTextWidth(mediaManager, textField, textField.offset, textField.offset + i + 1) > mouseX) {
                                 UICommons.textField_setMarkerPosition(mediaManager, textField,
                                         textField.offset + i);
                                 found = true;
@@ -1430,7 +1492,7 @@ public class UIEngine<T extends UIEngineAdapter> {
                         if (!found) {
                             // Set to end
                             UICommons.textField_setMarkerPosition(mediaManager, textField,
-                                    textField.offset + fieldContent.length);
+                                    textField.offset + fieldContentLength);
                         }
                         // Set Focus
                         UICommons.textField_focus(inputState, textField);
@@ -1472,6 +1534,7 @@ public class UIEngine<T extends UIEngineAdapter> {
                     case List list -> {
                         boolean isHoverObject = inputState.lastUIMouseHover == usedUIObject;
                         if (isHoverObject) {
+                            UICommons.list_invalidateRowCache(list);
                             if (inputState.pressedListItem != null) {
                                 if (list.multiSelect) {
                                     if (list.selectedItems.contains(inputState.pressedListItem)) {
@@ -1575,6 +1638,14 @@ public class UIEngine<T extends UIEngineAdapter> {
                         float amount = (1 / (float) Tools.Calc.lowerBounds(size, 1)) * inputState.inputEvents.mouseScrolledAmount;
                         UICommons.list_scroll(list, list.scrolled + amount);
                     }
+                    case Grid<?> grid -> {
+                        int amount = MathUtils.round(inputState.inputEvents.mouseScrolledAmount);
+                        if (UICommons.grid_getMaxScrollY(grid) > 0) {
+                            UICommons.grid_scroll(grid, grid.scrollX, grid.scrollY - amount);
+                        } else if (UICommons.grid_getMaxScrollX(grid) > 0) {
+                            UICommons.grid_scroll(grid, grid.scrollX + amount, grid.scrollY);
+                        }
+                    }
                     case Knob knob -> {
                         float amount = ((-1 / 20f) * inputState.inputEvents.mouseScrolledAmount) * inputState.config.component_knobSensitivity;
                         float newValue = knob.turned + amount;
@@ -1608,6 +1679,26 @@ public class UIEngine<T extends UIEngineAdapter> {
                 UICommons.textField_executeControlKey(inputState, mediaManager, inputState.focusedTextField, inputState.focusedTextField_repeatedKey);
             }
         }
+
+        // Grid auto scroll while dragging over the viewport edges
+        if ((inputState.draggedGrid != null || inputState.draggedList != null) && inputState.lastUIMouseHover instanceof Grid<?> grid) {
+            long time = (System.currentTimeMillis() - inputState.gridAutoScrollTimer);
+            if (time > 150 && UICommons.grid_canDragIntoGrid(inputState, grid)) {
+                int tileSize = grid.doubleSized ? TILE_SIZE * 2 : TILE_SIZE;
+                int edge = tileSize / 2;
+                int m_x = inputState.mouse_ui.x - UICommons.component_getAbsoluteX(grid);
+                int m_y = inputState.mouse_ui.y - UICommons.component_getAbsoluteY(grid);
+                int scrollX = grid.scrollX + (m_x < edge ? -1 : (m_x >= (grid.width * TILE_SIZE) - edge ? 1 : 0));
+                int scrollY = grid.scrollY + (m_y < edge ? -1 : (m_y >= (grid.height * TILE_SIZE) - edge ? 1 : 0));
+                int scrollXBefore = grid.scrollX;
+                int scrollYBefore = grid.scrollY;
+                UICommons.grid_scroll(grid, scrollX, scrollY);
+                if (grid.scrollX != scrollXBefore || grid.scrollY != scrollYBefore) {
+                    UICommons.ui_setDirty(inputState, grid);
+                    inputState.gridAutoScrollTimer = System.currentTimeMillis();
+                }
+            }
+        }
     }
 
     private void updateUI() {
@@ -1626,44 +1717,163 @@ public class UIEngine<T extends UIEngineAdapter> {
 
     }
 
+    private void updateUIDirtyState(boolean afterInput) {
+        InputEvents inputEvents = inputState.inputEvents;
+        boolean dirtyRectangles = UICommons.ui_isDirtyRectanglesEnabled(inputState);
+
+        // Input
+        boolean inputInteracted = inputEvents.mouseDown || inputEvents.mouseUp || inputEvents.mouseDragged || inputEvents.mouseScrolled ||
+                inputEvents.keyDown || inputEvents.keyUp || inputEvents.keyTyped ||
+                inputEvents.gamePadButtonDown || inputEvents.gamePadButtonUp;
+        boolean inputMoved = inputEvents.mouseMoved ||
+                inputEvents.gamePadLeftXMoved || inputEvents.gamePadLeftYMoved || inputEvents.gamePadRightXMoved || inputEvents.gamePadRightYMoved ||
+                inputEvents.gamePadLeftTriggerMoved || inputEvents.gamePadRightTriggerMoved;
+        if (inputInteracted) inputState.lastUIMouseHover_dirty = true; // Interactions can change what is below the cursor
+        if (inputInteracted || inputMoved) {
+            if (!dirtyRectangles) inputState.frameBuffer_ui_dirty = true;
+            // Elements currently in use
+            UICommons.ui_setDirty(inputState, inputState.pressedButton);
+            UICommons.ui_setDirty(inputState, inputState.pressedCheckBox);
+            UICommons.ui_setDirty(inputState, inputState.pressedCanvas);
+            UICommons.ui_setDirty(inputState, inputState.pressedAppViewPort);
+            UICommons.ui_setDirty(inputState, inputState.pressedTextField);
+            UICommons.ui_setDirty(inputState, inputState.focusedTextField);
+            UICommons.ui_setDirty(inputState, inputState.turnedKnob);
+            UICommons.ui_setDirty(inputState, inputState.scrolledScrollBarVertical);
+            UICommons.ui_setDirty(inputState, inputState.scrolledScrollBarHorizontal);
+            UICommons.ui_setDirty(inputState, inputState.pressedGrid);
+            UICommons.ui_setDirty(inputState, inputState.draggedGrid);
+            UICommons.ui_setDirty(inputState, inputState.pressedList);
+            UICommons.ui_setDirty(inputState, inputState.draggedList);
+            UICommons.ui_setDirty(inputState, inputState.openComboBox);
+            // Windows below the cursor, plain mouse movement only matters for drag & drop highlights
+            Window hoverWindow = switch (inputState.lastUIMouseHover) {
+                case Window window -> window;
+                case Component component -> component.addedToWindow;
+                case null, default -> null;
+            };
+            boolean dragAndDrop = inputState.draggedGrid != null || inputState.draggedList != null;
+            if (inputInteracted || dragAndDrop) {
+                UICommons.ui_setDirty(inputState, inputState.lastUIMouseHoverWindow);
+                UICommons.ui_setDirty(inputState, hoverWindow != null ? hoverWindow : inputState.lastUIMouseHover);
+            }
+            inputState.lastUIMouseHoverWindow = hoverWindow;
+            // Elements without tracked bounds
+            if (dirtyRectangles && (dragAndDrop || inputState.openContextMenu != null || inputState.openMouseTextInput != null ||
+                    (inputInteracted && inputState.lastUIMouseHover != null && hoverWindow == null && !(inputState.lastUIMouseHover instanceof Component)))) {
+                inputState.frameBuffer_ui_dirty = true;
+            }
+        }
+
+        if (!afterInput) return;
+
+        // Cursor
+        if (inputState.mouse_ui.x != inputState.frameBuffer_ui_mouseX || inputState.mouse_ui.y != inputState.frameBuffer_ui_mouseY || inputState.cursor != inputState.frameBuffer_ui_cursor) {
+            if (dirtyRectangles) {
+                render_addCursorDirtyRectangle(inputState.frameBuffer_ui_cursor, inputState.frameBuffer_ui_mouseX, inputState.frameBuffer_ui_mouseY);
+                render_addCursorDirtyRectangle(inputState.cursor, inputState.mouse_ui.x, inputState.mouse_ui.y);
+            } else {
+                inputState.frameBuffer_ui_dirty = true;
+            }
+        }
+
+        // Timed & Animated Elements
+        if (dirtyRectangles) {
+            if (inputState.frameBuffer_ui_animatedUnbound || inputState.openMouseTextInput != null || inputState.modalWindow != inputState.frameBuffer_ui_modalWindow) {
+                inputState.frameBuffer_ui_dirty = true;
+            }
+            for (int i = 0; i < inputState.frameBuffer_ui_animatedObjects.size(); i++) {
+                UICommons.ui_setDirty(inputState, inputState.frameBuffer_ui_animatedObjects.get(i));
+            }
+            // Tooltip: last drawn area and the area it can occupy around the cursor
+            if (inputState.tooltip != null && !inputState.tooltip_wait_delay) {
+                if (inputState.tooltip != inputState.frameBuffer_ui_tooltip) {
+                    inputState.frameBuffer_ui_dirty = true;
+                } else {
+                    int tooltipWidth = inputState.frameBuffer_ui_tooltipWidth;
+                    int tooltipHeight = inputState.frameBuffer_ui_tooltipHeight;
+                    inputState.frameBuffer_ui_dirtyRectangles.add(inputState.frameBuffer_ui_tooltipX, inputState.frameBuffer_ui_tooltipY, tooltipWidth, tooltipHeight);
+                    inputState.frameBuffer_ui_dirtyRectangles.add(inputState.mouse_ui.x - (tooltipWidth / 2), inputState.mouse_ui.y - (tooltipHeight / 2), tooltipWidth, tooltipHeight);
+                }
+            } else if (inputState.frameBuffer_ui_tooltip != null) {
+                inputState.frameBuffer_ui_dirtyRectangles.add(inputState.frameBuffer_ui_tooltipX, inputState.frameBuffer_ui_tooltipY, inputState.frameBuffer_ui_tooltipWidth, inputState.frameBuffer_ui_tooltipHeight);
+            }
+            // Notifications: rows at the top of the screen
+            int notificationRows = Math.max(inputState.notifications.size(), inputState.frameBuffer_ui_notifications);
+            if (notificationRows > 0) {
+                inputState.frameBuffer_ui_dirtyRectangles.add(0, inputState.resolutionHeight_ui - ((notificationRows + 1) * TILE_SIZE), inputState.resolutionWidth_ui, (notificationRows + 1) * TILE_SIZE);
+            }
+        } else if (inputState.frameBuffer_ui_animated || inputState.tooltip != null || inputState.notifications.size() > 0 || inputState.openMouseTextInput != null) {
+            inputState.frameBuffer_ui_dirty = true;
+        }
+        if (inputState.focusedTextField != null) UICommons.ui_setDirty(inputState, inputState.focusedTextField);
+
+        // Window Layers
+        for (int i = 0; i < inputState.windows.size(); i++) {
+            Window window = inputState.windows.get(i);
+            if (window.cacheLayer && window.layerAnimated) window.layerDirty = true;
+        }
+    }
+
+    private void render_addCursorDirtyRectangle(CMediaCursor cursor, int x, int y) {
+        if (cursor == null) return;
+        inputState.frameBuffer_ui_dirtyRectangles.add(x - cursor.hotspot_x, y - cursor.hotspot_y, mediaManager.imageWidth(cursor), mediaManager.imageHeight(cursor));
+    }
+
     private void updateUI_executeUpdateActions() {
-        // for(int i) is used to avoid iterator creation and avoid concurrentModification
         // If UpdateActions are removing/adding other update actions they are caught on the next update/frame
+        if (inputState.updateActionScheduler_dirty) updateUI_rebuildUpdateActionScheduler();
 
-        // ScreenComponent UpdateActions
+        // Only the actions that are due are visited, the owner is null for SingleUpdateActions
+        UpdateActionScheduler scheduler = inputState.updateActionScheduler;
         long currentTimeMillis = System.currentTimeMillis();
+        while (scheduler.isDue(currentTimeMillis)) {
+            // Taken out before executing, SingleUpdateActions added by onUpdate() can become the first entry
+            UpdateAction updateAction = scheduler.peekAction();
+            Object owner = scheduler.peekOwner();
+            scheduler.poll();
+            if (actions_executeUpdateAction(updateAction, currentTimeMillis)) {
+                if (owner == null) {
+                    inputState.frameBuffer_ui_dirty = true;
+                    inputState.singleUpdateActions.remove(updateAction);
+                    continue;
+                }
+                UICommons.ui_setDirty(inputState, owner);
+            }
+            scheduler.add(updateAction, owner);
+        }
+    }
+
+    private void updateUI_rebuildUpdateActionScheduler() {
+        // for(int i) is used to avoid iterator creation
+        UpdateActionScheduler scheduler = inputState.updateActionScheduler;
+        scheduler.clear();
+        // ScreenComponent UpdateActions
         for (int i = 0; i < inputState.screenComponents.size(); i++) {
             Component component = inputState.screenComponents.get(i);
             for (int i2 = 0; i2 < component.updateActions.size(); i2++) {
-                actions_executeUpdateAction(component.updateActions.get(i2), currentTimeMillis);
+                scheduler.add(component.updateActions.get(i2), component);
             }
         }
         for (int i = 0; i < inputState.windows.size(); i++) {
             // Window UpdateActions
             Window window = inputState.windows.get(i);
             for (int i2 = 0; i2 < window.updateActions.size(); i2++) {
-                actions_executeUpdateAction(window.updateActions.get(i2), currentTimeMillis);
+                scheduler.add(window.updateActions.get(i2), window);
             }
             // Window Component UpdateActions
             for (int i2 = 0; i2 < window.components.size(); i2++) {
                 Component component = window.components.get(i2);
                 for (int i3 = 0; i3 < component.updateActions.size(); i3++) {
-                    actions_executeUpdateAction(component.updateActions.get(i3), currentTimeMillis);
+                    scheduler.add(component.updateActions.get(i3), window);
                 }
             }
         }
-
         // Engine SingleUpdateActions
         for (int i = 0; i < inputState.singleUpdateActions.size(); i++) {
-            UpdateAction updateAction = inputState.singleUpdateActions.get(i);
-            if (this.actions_executeUpdateAction(updateAction, currentTimeMillis)) {
-                inputState.singleUpdateActionsRemoveQ.push(updateAction);
-            }
-        }
-        UpdateAction removeUpdateAction;
-        while ((removeUpdateAction = inputState.singleUpdateActionsRemoveQ.pollFirst()) != null) {
-            inputState.singleUpdateActions.remove(removeUpdateAction);
+            scheduler.add(inputState.singleUpdateActions.get(i), null);
         }
+        inputState.updateActionScheduler_dirty = false;
     }
 
     private void updateUI_toolTip() {
@@ -1694,8 +1904,8 @@ public class UIEngine<T extends UIEngineAdapter> {
                 if (grid.gridAction != null) {
                     int x_grid = UICommons.component_getAbsoluteX(grid);
                     int y_grid = UICommons.component_getAbsoluteY(grid);
-                    int inv_x = (inputState.mouse_ui.x - x_grid) / tileSize;
-                    int inv_y = (inputState.mouse_ui.y - y_grid) / tileSize;
+                    int inv_x = ((inputState.mouse_ui.x - x_grid) / tileSize) + grid.scrollX;
+                    int inv_y = ((inputState.mouse_ui.y - y_grid) / tileSize) + grid.scrollY;
                     if (UICommons.grid_positionValid(grid, inv_x, inv_y)) {
                         toolTipSubItem = grid.items[inv_x][inv_y];
                     }
@@ -1885,15 +2095,70 @@ public class UIEngine<T extends UIEngineAdapter> {
 
 
         { // Draw GUI
-            inputState.frameBuffer_ui.begin();
+            inputState.animation_timer_ui = inputState.animation_timer_ui + Gdx.graphics.getDeltaTime();
+
+            // Retained Mode: reuse the last UI frame if nothing changed
+            boolean dirtyRectangles = UICommons.ui_isDirtyRectanglesEnabled(inputState);
+            if (!inputState.config.ui_retainedMode || inputState.frameBuffer_ui_dirty || (dirtyRectangles && !inputState.frameBuffer_ui_dirtyRectangles.isEmpty())) {
+                inputState.frameBuffer_ui_animatedObjects.clear();
+                inputState.frameBuffer_ui_animatedUnbound = false;
+                this.renderUIWindowLayers();
+                inputState.frameBuffer_ui_animated = false;
+
+                // Dirty Rectangles: bounds of changed objects after their change
+                boolean partialRedraw = false;
+                if (dirtyRectangles && !inputState.frameBuffer_ui_dirty) {
+                    DirtyRectangles rectangles = inputState.frameBuffer_ui_dirtyRectangles;
+                    if (rectangles.getMaxRectangles() != inputState.config.ui_dirtyRectanglesMax)
+                        rectangles.setMaxRectangles(inputState.config.ui_dirtyRectanglesMax);
+                    for (int i = 0; i < inputState.frameBuffer_ui_dirtyObjects.size(); i++) {
+                        if (!UICommons.ui_addDirtyRectangle(inputState, inputState.frameBuffer_ui_dirtyObjects.get(i)))
+                            inputState.frameBuffer_ui_dirty = true;
+                    }
+                    // Merge everything once fragmented rectangles cover most of the screen anyway
+                    if (rectangles.size() > 1 && rectangles.coverage() > 0.5f) rectangles.collapse();
+                    partialRedraw = !inputState.frameBuffer_ui_dirty;
+                }
+
+                inputState.frameBuffer_ui.begin();
+                if (partialRedraw) {
+                    DirtyRectangles rectangles = inputState.frameBuffer_ui_dirtyRectangles;
+                    Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+                    for (int i = 0; i < rectangles.size(); i++) {
+                        inputState.frameBuffer_ui_clipped = true;
+                        inputState.frameBuffer_ui_clipX = rectangles.x(i);
+                        inputState.frameBuffer_ui_clipY = rectangles.y(i);
+                        inputState.frameBuffer_ui_clipWidth = rectangles.width(i);
+                        inputState.frameBuffer_ui_clipHeight = rectangles.height(i);
+                        render_scissorUI(rectangles.x(i), rectangles.y(i), rectangles.width(i), rectangles.height(i));
+                        Gdx.gl.glClearColor(0, 0, 0, 0);
+                        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+                        // Adapter hooks run once per rectangle and receive the clip area
+                        this.uiAdapter.renderUIBefore(inputState.camera_ui, rectangles.x(i), rectangles.y(i), rectangles.width(i), rectangles.height(i));
+                        this.renderUI();
+                        this.uiAdapter.renderUIAfter(inputState.camera_ui, rectangles.x(i), rectangles.y(i), rectangles.width(i), rectangles.height(i));
+                    }
+                    inputState.frameBuffer_ui_clipped = false;
+                    Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+                } else {
+                    Gdx.gl.glClearColor(0, 0, 0, 0);
+                    Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+                    this.uiAdapter.renderUIBefore(inputState.camera_ui, 0, 0, inputState.resolutionWidth_ui, inputState.resolutionHeight_ui);
 
-            Gdx.gl.glClearColor(0, 0, 0, 0);
-            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-            this.uiAdapter.renderUIBefore(inputState.camera_ui);
+                    this.renderUI();
+                    this.uiAdapter.renderUIAfter(inputState.camera_ui, 0, 0, inputState.resolutionWidth_ui, inputState.resolutionHeight_ui);
+                }
+                inputState.frameBuffer_ui.end();
 
-            this.renderUI();
-            this.uiAdapter.renderUIAfter(inputState.camera_ui);
-            inputState.frameBuffer_ui.end();
+                inputState.frameBuffer_ui_dirty = false;
+                inputState.frameBuffer_ui_dirtyRectangles.clear();
+                inputState.frameBuffer_ui_dirtyObjects.clear();
+                inputState.frameBuffer_ui_mouseX = inputState.mouse_ui.x;
+                inputState.frameBuffer_ui_mouseY = inputState.mouse_ui.y;
+                inputState.frameBuffer_ui_cursor = inputState.cursor;
+                inputState.frameBuffer_ui_notifications = inputState.notifications.size();
+                inputState.frameBuffer_ui_modalWindow = inputState.modalWindow;
+            }
         }
 
         { // Draw to Screen Buffer, Combine GUI+App Buffer and Upscale
@@ -1924,6 +2189,21 @@ public class UIEngine<T extends UIEngineAdapter> {
     }
 
 
+    private void render_scissorUI(int x, int y, int width, int height) {
+        // Dirty rectangles are in UI coordinates, glScissor expects framebuffer pixels
+        int frameBufferWidth = inputState.frameBuffer_ui.getWidth();
+        int frameBufferHeight = inputState.frameBuffer_ui.getHeight();
+        if (frameBufferWidth == inputState.resolutionWidth_ui && frameBufferHeight == inputState.resolutionHeight_ui) {
+            Gdx.gl.glScissor(x, y, width, height);
+        } else {
+            int x1 = MathUtils.floor(x * frameBufferWidth / (float) inputState.resolutionWidth_ui);
+            int y1 = MathUtils.floor(y * frameBufferHeight / (float) inputState.resolutionHeight_ui);
+            int x2 = MathUtils.ceil((x + width) * frameBufferWidth / (float) inputState.resolutionWidth_ui);
+            int y2 = MathUtils.ceil((y + height) * frameBufferHeight / (float) inputState.resolutionHeight_ui);
+            Gdx.gl.glScissor(x1, y1, x2 - x1, y2 - y1);
+        }
+    }
+
     private void renderGameViewPortFrameBuffer(AppViewPort appViewPort) {
         if (render_isComponentNotRendered(appViewPort)) return;
         if (System.currentTimeMillis() - appViewPort.updateTimer > appViewPort.updateTime) {
@@ -1932,12 +2212,12 @@ public class UIEngine<T extends UIEngineAdapter> {
             this.uiAdapter.render(appViewPort.camera, appViewPort);
             appViewPort.frameBuffer.end();
             appViewPort.updateTimer = System.currentTimeMillis();
+            UICommons.ui_setDirty(inputState, appViewPort);
         }
     }
 
 
     private void renderUI() {
-        inputState.animation_timer_ui = inputState.animation_timer_ui + Gdx.graphics.getDeltaTime();
 
         inputState.spriteRenderer_ui.setProjectionMatrix(inputState.camera_ui.combined);
         inputState.spriteRenderer_ui.begin();
@@ -1946,19 +2226,26 @@ public class UIEngine<T extends UIEngineAdapter> {
         /* Draw Screen Components */
         for (int i = 0; i < inputState.screenComponents.size(); i++) {
             Component component = inputState.screenComponents.get(i);
+            if (render_isOutsideClip(component)) continue;
             render_drawComponent(component);
         }
 
         /* Draw Screen Components Top Layer */
         for (int i = 0; i < inputState.screenComponents.size(); i++) {
             Component component = inputState.screenComponents.get(i);
+            if (render_isOutsideClip(component)) continue;
             render_drawComponentTopLayer(null, component);
         }
 
         /* Draw Windows */
         for (int i = 0; i < inputState.windows.size(); i++) {
             Window window = inputState.windows.get(i);
-            render_drawWindow(window);
+            if (render_isOutsideClip(window)) continue;
+            if (render_isWindowLayerUsed(window)) {
+                render_drawWindowLayer(window);
+            } else {
+                render_drawWindow(window);
+            }
         }
 
         /* Notifications */
@@ -1982,6 +2269,68 @@ public class UIEngine<T extends UIEngineAdapter> {
     }
 
 
+    private void renderUIWindowLayers() {
+        boolean modalOpen = UICommons.window_isModalOpen(inputState);
+        for (int i = 0; i < inputState.windows.size(); i++) {
+            Window window = inputState.windows.get(i);
+            if (!window.cacheLayer || !window.visible) continue;
+            int width = UICommons.window_getAbsoluteWidth(window);
+            int height = UICommons.window_getAbsoluteHeight(window);
+            if (window.layerFrameBuffer == null || window.layerFrameBuffer.getWidth() != width || window.layerFrameBuffer.getHeight() != height) {
+                UICommons.window_releaseLayer(inputState, window);
+                window.layerFrameBuffer = inputState.frameBufferPool_windowLayers.obtain(width, height);
+                window.layerTexture = new TextureRegion(window.layerFrameBuffer.getColorBufferTexture());
+                window.layerTexture.flip(false, true);
+            }
+            boolean grayScale = modalOpen && inputState.modalWindow != window;
+            if (!window.layerDirty && window.layerGrayScale == grayScale) continue;
+            if (!render_isWindowLayerUsed(window)) continue;
+
+            // Draw window at its screen position into its own framebuffer
+            inputState.camera_windowLayers.setToOrtho(false, width, height);
+            inputState.camera_windowLayers.position.set(window.x + (width / 2f), window.y + (height / 2f), 0);
+            inputState.camera_windowLayers.update();
+            inputState.frameBuffer_ui_animated = false;
+
+            window.layerFrameBuffer.begin();
+            Gdx.gl.glClearColor(0, 0, 0, 0);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            inputState.spriteRenderer_ui.setProjectionMatrix(inputState.camera_windowLayers.combined);
+            // Premultiplied alpha, so the layer composites the same as drawing the window directly
+            inputState.spriteRenderer_ui.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            inputState.spriteRenderer_ui.begin();
+            render_batchSetColorWhite();
+            render_drawWindow(window);
+            inputState.spriteRenderer_ui.end();
+            inputState.spriteRenderer_ui.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            window.layerFrameBuffer.end();
+
+            window.layerAnimated = inputState.frameBuffer_ui_animated;
+            window.layerGrayScale = grayScale;
+            window.layerDirty = false;
+        }
+    }
+
+    private boolean render_isWindowLayerUsed(Window window) {
+        if (!window.cacheLayer || window.layerFrameBuffer == null) return false;
+        // Open ComboBox menus are drawn outside the window bounds
+        return inputState.openComboBox == null || inputState.openComboBox.addedToWindow != window;
+    }
+
+    private void render_drawWindowLayer(Window window) {
+        if (!window.visible) return;
+        if (window.layerAnimated) {
+            Object preRenderObject = inputState.frameBuffer_ui_renderObject;
+            inputState.frameBuffer_ui_renderObject = window;
+            render_setAnimated();
+            inputState.frameBuffer_ui_renderObject = preRenderObject;
+        }
+        render_batchSetColorWhite();
+        inputState.spriteRenderer_ui.setBlendFunctionSeparate(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        inputState.spriteRenderer_ui.draw(window.layerTexture, window.x, window.y);
+        inputState.spriteRenderer_ui.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
     private void render_mouseTextInput() {
         if (inputState.openMouseTextInput == null) return;
         MouseTextInput mouseTextInput = inputState.openMouseTextInput;
@@ -2032,7 +2381,7 @@ public class UIEngine<T extends UIEngineAdapter> {
             inputState.spriteRenderer_ui.drawCMediaArray(UIBaseMedia.UI_OSTEXTINPUT_DELETE, x, y, pressedIndex);
         } else {
             int offset = pressed ? 1 : 0;
-            render_drawFont(font, String.valueOf(c), 1.0f, x + 2 + offset, y + 2 - offset);
+            render_drawFont(font, c < CHARACTER_STRINGS.length ? CHARACTER_STRINGS[c] : String.valueOf(c), 1.0f, x + 2 + offset, y + 2 - offset);
         }
     }
 
@@ -2118,6 +2467,8 @@ public class UIEngine<T extends UIEngineAdapter> {
 
     private void render_drawComponentTopLayer(Window window, Component component) {
         if (render_isComponentNotRendered(component)) return;
+        Object preRenderObject = inputState.frameBuffer_ui_renderObject;
+        inputState.frameBuffer_ui_renderObject = component;
         float alpha = (window != null ? (component.color_a * window.color_a) : component.color_a);
         render_batchSetColor(component.color_r, component.color_g, component.color_b, alpha);
         switch (component) {
@@ -2147,7 +2498,7 @@ public class UIEngine<T extends UIEngineAdapter> {
                     /* Text */
                     for (int i = 0; i < comboBox.comboBoxItems.size(); i++) {
                         ComboBoxItem comboBoxItem = comboBox.comboBoxItems.get(i);
-                        render_drawFont(comboBoxItem.font, comboBoxItem.text, alpha, UICommons.component_getAbsoluteX(comboBox), UICommons.component_getAbsoluteY(comboBox) - (i * TILE_SIZE) - TILE_SIZE, 2, 1, (comboBox.width * TILE_SIZE), comboBoxItem.icon, comboBoxItem.iconIndex);
+                        render_drawFont(comboBoxItem.font, comboBoxItem.text, alpha, UICommons.component_getAbsoluteX(comboBox), UICommons.component_getAbsoluteY(comboBox) - (i * TILE_SIZE) - TILE_SIZE, 2, 1, (comboBox.width * TILE_SIZE), comboBoxItem.icon, comboBoxItem.iconIndex, comboBoxItem.textLayoutCache);
                     }
                 }
             }
@@ -2155,6 +2506,7 @@ public class UIEngine<T extends UIEngineAdapter> {
             }
         }
         render_batchSetColorWhite();
+        inputState.frameBuffer_ui_renderObject = preRenderObject;
     }
 
     private void render_drawContextMenu() {
@@ -2197,6 +2549,7 @@ public class UIEngine<T extends UIEngineAdapter> {
     }
 
     private void render_drawTooltip() {
+        inputState.frameBuffer_ui_tooltip = null;
         if (inputState.tooltip == null) return;
         if (inputState.tooltip_wait_delay) return;
         if (inputState.tooltip.lines == null || inputState.tooltip.lines.length == 0) return;
@@ -2221,6 +2574,13 @@ public class UIEngine<T extends UIEngineAdapter> {
             if (imageHeightMin > tooltip_height) tooltip_height = imageHeightMin;
         }
 
+        // Retained mode: area the tooltip can occupy around the cursor
+        inputState.frameBuffer_ui_tooltip = tooltip;
+        inputState.frameBuffer_ui_tooltipWidth = ((tooltip_width + 2) * TILE_SIZE) * 2;
+        inputState.frameBuffer_ui_tooltipHeight = ((tooltip_height + 2) * TILE_SIZE) * 2;
+        inputState.frameBuffer_ui_tooltipX = inputState.mouse_ui.x - (inputState.frameBuffer_ui_tooltipWidth / 2);
+        inputState.frameBuffer_ui_tooltipY = inputState.mouse_ui.y - (inputState.frameBuffer_ui_tooltipHeight / 2);
+
         int tooltip_x = 0;
         int tooltip_y = 0;
         // Direction
@@ -2376,6 +2736,8 @@ public class UIEngine<T extends UIEngineAdapter> {
 
     private void render_drawWindow(Window window) {
         if (!window.visible) return;
+        Object preRenderObject = inputState.frameBuffer_ui_renderObject;
+        inputState.frameBuffer_ui_renderObject = window;
         boolean preWindowGrayScaleShaderState = render_isGrayscaleEnabled();
         if (UICommons.window_isModalOpen(inputState) && inputState.modalWindow != window)
             render_setGrayscaleEnabled(true);
@@ -2398,6 +2760,7 @@ public class UIEngine<T extends UIEngineAdapter> {
         // Draw Components
         for (int i = 0; i < window.components.size(); i++) {
             Component component = window.components.get(i);
+            if (render_isOutsideClip(component)) continue;
             if (!window.folded) {
                 render_drawComponent(component);
             } else {
@@ -2411,16 +2774,20 @@ public class UIEngine<T extends UIEngineAdapter> {
         // Draw Component TopLayer
         for (int i = 0; i < window.components.size(); i++) {
             Component component = window.components.get(i);
+            if (render_isOutsideClip(component)) continue;
             if (!window.folded) render_drawComponentTopLayer(window, component);
         }
 
         render_batchSetColorWhite();
         render_setGrayscaleEnabled(preWindowGrayScaleShaderState);
+        inputState.frameBuffer_ui_renderObject = preRenderObject;
     }
 
 
     private void render_drawComponent(Component component) {
         if (render_isComponentNotRendered(component)) return;
+        Object preRenderObject = inputState.frameBuffer_ui_renderObject;
+        inputState.frameBuffer_ui_renderObject = component;
         float alpha = (component.addedToWindow != null ? (component.color_a * component.addedToWindow.color_a) : component.color_a);
         boolean preComponentGrayScaleState = render_isGrayscaleEnabled();
         if (component.disabled) render_setGrayscaleEnabled(true);
@@ -2439,7 +2806,7 @@ public class UIEngine<T extends UIEngineAdapter> {
                 }
                 if (button instanceof TextButton textButton) {
                     if (textButton.text != null) {
-                        render_drawFont(textButton.font, textButton.text, alpha, UICommons.component_getAbsoluteX(textButton) + textButton.contentOffset_x + pressed_offset, UICommons.component_getAbsoluteY(button) + textButton.contentOffset_y - pressed_offset, 1, 2, button.width * TILE_SIZE, textButton.icon, textButton.iconIndex);
+                        render_drawFont(textButton.font, textButton.text, alpha, UICommons.component_getAbsoluteX(textButton) + textButton.contentOffset_x + pressed_offset, UICommons.component_getAbsoluteY(button) + textButton.contentOffset_y - pressed_offset, 1, 2, button.width * TILE_SIZE, textButton.icon, textButton.iconIndex, textButton.textLayoutCache);
                     }
                 } else if (button instanceof ImageButton imageButton) {
                     render_saveTempColorBatch();
@@ -2456,8 +2823,12 @@ public class UIEngine<T extends UIEngineAdapter> {
             case Text text -> {
                 int textHeight = ((text.height - 1) * TILE_SIZE);
                 if (text.lines != null && text.lines.length > 0) {
+                    if (text.textLayoutCaches.length != text.lines.length) {
+                        text.textLayoutCaches = new TextLayoutCache[text.lines.length];
+                        for (int i = 0; i < text.textLayoutCaches.length; i++) text.textLayoutCaches[i] = new TextLayoutCache();
+                    }
                     for (int i = 0; i < text.lines.length; i++) {
-                        render_drawFont(text.font, text.lines[i], alpha, UICommons.component_getAbsoluteX(text), UICommons.component_getAbsoluteY(text) + textHeight - (i * TILE_SIZE), 1, 1);
+                        render_drawFont(text.font, text.lines[i], alpha, UICommons.component_getAbsoluteX(text), UICommons.component_getAbsoluteY(text) + textHeight - (i * TILE_SIZE), 1, 1, FONT_MAXWIDTH_NONE, null, 0, text.textLayoutCaches[i]);
                     }
                 }
             }
@@ -2490,6 +2861,8 @@ public class UIEngine<T extends UIEngineAdapter> {
                     itemFrom = MathUtils.round(list.scrolled * ((list.items.size()) - (list.height)));
                     itemFrom = Tools.Calc.lowerBounds(itemFrom, 0);
                 }
+                ListRowCache rowCache = itemsValid ? list.rowCache : null;
+                if (rowCache != null) UICommons.list_prepareRowCache(list, itemFrom);
                 boolean dragEnabled = false;
                 boolean dragValid = false;
                 int drag_x = -1, drag_y = -1;
@@ -2517,16 +2890,42 @@ public class UIEngine<T extends UIEngineAdapter> {
                         }
                     }
 
-                    boolean selected = item != null && (list.multiSelect ? list.selectedItems.contains(item) : (list.selectedItem == item));
-
+                    boolean selected;
                     Color cellColor = null;
-                    if (list.listAction != null && list.items != null && itemIndex < list.items.size()) {
-                        cellColor = list.listAction.cellColor(item);
-                        if (cellColor != null) {
-                            render_saveTempColorBatch();
-                            render_batchSetColor(cellColor.r, cellColor.g, cellColor.b, 1);
+                    String text = null;
+                    CMediaSprite icon = null;
+                    int iconIndex = 0;
+                    if (rowCache != null && rowCache.valid[iy] && rowCache.items[iy] == item) {
+                        selected = rowCache.selected[iy];
+                        cellColor = rowCache.cellColors[iy];
+                        text = rowCache.texts[iy];
+                        icon = rowCache.icons[iy];
+                        iconIndex = rowCache.iconIndexes[iy];
+                    } else {
+                        selected = item != null && (list.multiSelect ? list.selectedItems.contains(item) : (list.selectedItem == item));
+                        if (list.listAction != null && list.items != null && itemIndex < list.items.size()) {
+                            cellColor = list.listAction.cellColor(item);
+                        }
+                        if (item != null) {
+                            text = list.listAction.text(item);
+                            icon = list.listAction.icon(item);
+                            iconIndex = list.listAction.iconIndex(item);
+                        }
+                        if (rowCache != null) {
+                            rowCache.items[iy] = item;
+                            rowCache.valid[iy] = true;
+                            rowCache.selected[iy] = selected;
+                            rowCache.cellColors[iy] = cellColor;
+                            rowCache.texts[iy] = text;
+                            rowCache.icons[iy] = icon;
+                            rowCache.iconIndexes[iy] = iconIndex;
                         }
                     }
+
+                    if (cellColor != null) {
+                        render_saveTempColorBatch();
+                        render_batchSetColor(cellColor.r, cellColor.g, cellColor.b, 1);
+                    }
                     for (int ix = 0; ix < list.width; ix++) {
                         CMediaImage listSelectedGraphic = selected ? UIBaseMedia.UI_LIST_SELECTED : UIBaseMedia.UI_LIST;
                         inputState.spriteRenderer_ui.drawCMediaImage(listSelectedGraphic, UICommons.component_getAbsoluteX(list) + (ix * TILE_SIZE), UICommons.component_getAbsoluteY(list) + itemOffsetY * TILE_SIZE);
@@ -2535,8 +2934,7 @@ public class UIEngine<T extends UIEngineAdapter> {
 
                     // Text
                     if (item != null) {
-                        String text = list.listAction.text(item);
-                        render_drawFont(list.font, text, alpha, UICommons.component_getAbsoluteX(list), UICommons.component_getAbsoluteY(list) + itemOffsetY * TILE_SIZE, 1, 2, (list.width * TILE_SIZE), list.listAction.icon(item), list.listAction.iconIndex(item));
+                        render_drawFont(list.font, text, alpha, UICommons.component_getAbsoluteX(list), UICommons.component_getAbsoluteY(list) + itemOffsetY * TILE_SIZE, 1, 2, (list.width * TILE_SIZE), icon, iconIndex);
                     }
                 }
 
@@ -2566,7 +2964,7 @@ public class UIEngine<T extends UIEngineAdapter> {
                 }
                 // Text
                 if (comboBox.selectedItem != null && comboBox.comboBoxAction != null) {
-                    render_drawFont(comboBox.selectedItem.font, comboBox.selectedItem.text, alpha, UICommons.component_getAbsoluteX(comboBox), UICommons.component_getAbsoluteY(comboBox), 2, 1, (comboBox.width - 1) * TILE_SIZE, comboBox.selectedItem.icon, comboBox.selectedItem.iconIndex);
+                    render_drawFont(comboBox.selectedItem.font, comboBox.selectedItem.text, alpha, UICommons.component_getAbsoluteX(comboBox), UICommons.component_getAbsoluteY(comboBox), 2, 1, (comboBox.width - 1) * TILE_SIZE, comboBox.selectedItem.icon, comboBox.selectedItem.iconIndex, comboBox.textLayoutCache);
                 }
             }
             case Knob knob -> {
@@ -2598,6 +2996,7 @@ public class UIEngine<T extends UIEngineAdapter> {
                 for (int i = (canvas.canvasImages.size() - 1); i >= 0; i--) {
                     CanvasImage canvasImage = canvas.canvasImages.get(i);
                     if (canvasImage.fadeOut) {
+                        render_setAnimated();
                         canvasImage.color_a = 1 - ((System.currentTimeMillis() - canvasImage.timer) / (float) canvasImage.fadeOutTime);
                         if (canvasImage.color_a <= 0) {
                             canvas.canvasImages.remove(i);
@@ -2634,9 +3033,9 @@ public class UIEngine<T extends UIEngineAdapter> {
                     }
 
                     if (textField.content != null) {
-                        render_drawFont(textField.font, textField.content.substring(textField.offset), alpha, UICommons.component_getAbsoluteX(textField), UICommons.component_getAbsoluteY(textField), 1, 2, (textField.width * TILE_SIZE) - 4);
+                        render_drawFont(textField.font, textField.content, textField.offset, alpha, UICommons.component_getAbsoluteX(textField), UICommons.component_getAbsoluteY(textField), 1, 2, (textField.width * TILE_SIZE) - 4);
                         if (UICommons.textField_isFocused(inputState, textField)) {
-                            int xOffset = render_textWidth(textField.font, textField.content.substring(textField.offset, textField.markerPosition)) + 2;
+                            int xOffset = UICommons.textField_getTextWidth(mediaManager, textField, textField.offset, textField.markerPosition) + 2;
                             if (xOffset < textField.width * TILE_SIZE) {
                                 inputState.spriteRenderer_ui.drawCMediaAnimation( UIBaseMedia.UI_TEXTFIELD_CARET, UICommons.component_getAbsoluteX(textField) + xOffset, UICommons.component_getAbsoluteY(textField), inputState.animation_timer_ui);
                             }
@@ -2646,8 +3045,9 @@ public class UIEngine<T extends UIEngineAdapter> {
             }
             case Grid grid -> {
                 int tileSize = grid.doubleSized ? TILE_SIZE * 2 : TILE_SIZE;
-                int gridWidth = grid.items.length;
-                int gridHeight = grid.items[0].length;
+                // Only the cells inside the viewport are drawn
+                int gridWidth = UICommons.grid_getVisibleWidth(grid);
+                int gridHeight = UICommons.grid_getVisibleHeight(grid);
 
                 boolean dragEnabled = false;
                 boolean dragValid = false;
@@ -2663,7 +3063,7 @@ public class UIEngine<T extends UIEngineAdapter> {
                         if (m_x > 0 && m_x < (grid.width * tileSize) && m_y > 0 && m_y < (grid.height * tileSize)) {
                             int inv_x = m_x / tileSize;
                             int inv_y = m_y / tileSize;
-                            if (UICommons.grid_positionValid(grid, inv_x, inv_y)) {
+                            if (UICommons.grid_positionValid(grid, inv_x + grid.scrollX, inv_y + grid.scrollY)) {
                                 drag_x = inv_x;
                                 drag_y = inv_y;
                             }
@@ -2677,8 +3077,11 @@ public class UIEngine<T extends UIEngineAdapter> {
                 for (int ix = 0; ix < gridWidth; ix++) {
                     for (int iy = 0; iy < gridHeight; iy++) {
                         if (grid.items != null) {
+                            int itemX = ix + grid.scrollX;
+                            int itemY = iy + grid.scrollY;
+                            Object item = grid.items[itemX][itemY];
                             CMediaArray cellGraphic;
-                            boolean selected = grid.items[ix][iy] != null && grid.items[ix][iy] == grid.selectedItem;
+                            boolean selected = item != null && item == grid.selectedItem;
                             if (dragEnabled && dragValid && drag_x == ix && drag_y == iy) {
                                 cellGraphic = grid.doubleSized ? UIBaseMedia.UI_GRID_DRAGGED_X2 : UIBaseMedia.UI_GRID_DRAGGED;
                             } else {
@@ -2692,7 +3095,7 @@ public class UIEngine<T extends UIEngineAdapter> {
                             render_saveTempColorBatch();
 
                             // Draw Cell
-                            Color cellColor = grid.gridAction != null ? grid.gridAction.cellColor(grid.items[ix][iy], ix, iy) : null;
+                            Color cellColor = grid.gridAction != null ? grid.gridAction.cellColor(item, itemX, itemY) : null;
                             if (cellColor != null) {
                                 render_batchSetColor(cellColor.r, cellColor.g, cellColor.b, 1f);
                             } else {
@@ -2702,10 +3105,10 @@ public class UIEngine<T extends UIEngineAdapter> {
                             inputState.spriteRenderer_ui.drawCMediaArray(cellGraphic, UICommons.component_getAbsoluteX(grid) + (ix * tileSize), UICommons.component_getAbsoluteY(grid) + (iy * tileSize), index);
 
                             // Draw Icon
-                            CMediaSprite cellIcon = (grid.items[ix][iy] != null && grid.gridAction != null) ? grid.gridAction.icon(grid.items[ix][iy]) : null;
+                            CMediaSprite cellIcon = (item != null && grid.gridAction != null) ? grid.gridAction.icon(item) : null;
                             if (cellIcon != null) {
                                 render_batchSetColorWhite(alpha);
-                                int iconIndex = grid.gridAction != null ? grid.gridAction.iconIndex(grid.items[ix][iy]) : 0;
+                                int iconIndex = grid.gridAction != null ? grid.gridAction.iconIndex(item) : 0;
                                 render_drawCMediaSprite(cellIcon, UICommons.component_getAbsoluteX(grid) + (ix * tileSize), UICommons.component_getAbsoluteY(grid) + (iy * tileSize), iconIndex);
                             }
                             render_loadTempColorBatch();
@@ -2825,6 +3228,7 @@ public class UIEngine<T extends UIEngineAdapter> {
 
         render_setGrayscaleEnabled(preComponentGrayScaleState);
         render_batchSetColorWhite();
+        inputState.frameBuffer_ui_renderObject = preRenderObject;
     }
 
     private void render_drawCursorDragAndDrop() {
@@ -2888,7 +3292,20 @@ public class UIEngine<T extends UIEngineAdapter> {
         return mediaManager.textWidth(font, text);
     }
 
+    private void render_drawFont(CMediaFont font, String text, int textStart, float alpha, int x, int y, int textXOffset, int textYOffset, int maxWidth) {
+        // Draws text from textStart without creating a substring
+        if (font == null) return;
+        render_saveTempColorFont(font);
+        render_fontSetAlpha(font, alpha);
+        inputState.spriteRenderer_ui.drawCMediaFont(font, x + textXOffset, y + textYOffset, text, textStart, text.length(), maxWidth);
+        render_loadTempColorFont(font);
+    }
+
     private void render_drawFont(CMediaFont font, String text, float alpha, int x, int y, int textXOffset, int textYOffset, int maxWidth, CMediaSprite icon, int iconIndex) {
+        render_drawFont(font, text, alpha, x, y, textXOffset, textYOffset, maxWidth, icon, iconIndex, null);
+    }
+
+    private void render_drawFont(CMediaFont font, String text, float alpha, int x, int y, int textXOffset, int textYOffset, int maxWidth, CMediaSprite icon, int iconIndex, TextLayoutCache textLayoutCache) {
         if (font == null) return;
         boolean withIcon = icon != null;
         if (withIcon) {
@@ -2898,6 +3315,13 @@ public class UIEngine<T extends UIEngineAdapter> {
             render_loadTempColorBatch();
         }
 
+        if (textLayoutCache != null) {
+            // Cached glyphs carry their own color, the font color is left untouched
+            if (withIcon && maxWidth != FONT_MAXWIDTH_NONE) maxWidth -= UIEngine.TILE_SIZE;
+            inputState.spriteRenderer_ui.drawCMediaFont(font, x + (withIcon ? TILE_SIZE : 0) + textXOffset, y + textYOffset, text, maxWidth, alpha, textLayoutCache);
+            return;
+        }
+
         render_saveTempColorFont(font);
         render_fontSetAlpha(font, alpha);
         if (maxWidth == FONT_MAXWIDTH_NONE) {
@@ -2960,17 +3384,48 @@ public class UIEngine<T extends UIEngineAdapter> {
     }
 
     private void render_drawCMediaSprite(CMediaSprite cMedia, int x, int y, int arrayIndex, float animation_timer_offset) {
+        if (cMedia instanceof CMediaAnimation) render_setAnimated();
         inputState.spriteRenderer_ui.drawCMediaSprite(cMedia, x, y, arrayIndex, (inputState.animation_timer_ui + animation_timer_offset));
     }
 
     private void render_drawCMediaSprite(CMediaSprite cMedia, int x, int y, int arrayIndex, float animation_timer_offset, int area_x, int area_y, int area_w, int area_h) {
+        if (cMedia instanceof CMediaAnimation) render_setAnimated();
         inputState.spriteRenderer_ui.drawCMediaSprite(cMedia, x, y, arrayIndex, (inputState.animation_timer_ui + animation_timer_offset));
     }
 
+    private void render_setAnimated() {
+        inputState.frameBuffer_ui_animated = true;
+        Object renderObject = inputState.frameBuffer_ui_renderObject;
+        if (renderObject == null) {
+            inputState.frameBuffer_ui_animatedUnbound = true;
+        } else {
+            ArrayList<Object> animatedObjects = inputState.frameBuffer_ui_animatedObjects;
+            if (animatedObjects.isEmpty() || animatedObjects.get(animatedObjects.size() - 1) != renderObject)
+                animatedObjects.add(renderObject);
+        }
+    }
+
+    private boolean render_isOutsideClip(int x, int y, int width, int height) {
+        if (!inputState.frameBuffer_ui_clipped) return false;
+        return !Tools.Calc.rectsCollide(x, y, width, height, inputState.frameBuffer_ui_clipX, inputState.frameBuffer_ui_clipY, inputState.frameBuffer_ui_clipWidth, inputState.frameBuffer_ui_clipHeight);
+    }
+
+    private boolean render_isOutsideClip(Component component) {
+        if (!inputState.frameBuffer_ui_clipped) return false;
+        return render_isOutsideClip(UICommons.component_getAbsoluteX(component), UICommons.component_getRenderAreaY(component),
+                component.width * TILE_SIZE, UICommons.component_getRenderAreaHeight(component));
+    }
+
+    private boolean render_isOutsideClip(Window window) {
+        if (!inputState.frameBuffer_ui_clipped) return false;
+        return render_isOutsideClip(window.x, window.y, UICommons.window_getAbsoluteWidth(window), UICommons.window_getAbsoluteHeight(window));
+    }
+
     public void shutdown() {
         this.uiAdapter.shutdown();
 
         // Lists
+        for (int i = 0; i < inputState.windows.size(); i++) UICommons.window_releaseLayer(inputState, inputState.windows.get(i));
         inputState.windows.clear();
 
         inputState.modalWindowQueue.clear();
@@ -2980,6 +3435,7 @@ public class UIEngine<T extends UIEngineAdapter> {
         inputState.notifications.clear();
         inputState.appViewPorts.clear();
         inputState.spriteRenderer_ui.dispose();
+        inputState.frameBufferPool_windowLayers.dispose();
 
 
         // Textures
@@ -14,6 +14,19 @@ public interface UIEngineAdapter {
     }
     default void renderUIAfter(OrthographicCamera camera) {
     }
+    /**
+     * With dirty rectangles enabled, a partial redraw calls this once per dirty rectangle, with the scissor test set to the clip area (UI coordinates).
+     * A full redraw calls it once with the whole UI resolution.
+     */
+    default void renderUIBefore(OrthographicCamera camera, int clipX, int clipY, int clipWidth, int clipHeight) {
+        renderUIBefore(camera);
+    }
+    /**
+     * Called like {@link #renderUIBefore(OrthographicCamera, int, int, int, int)}, once per clip area after the UI is drawn.
+     */
+    default void renderUIAfter(OrthographicCamera camera, int clipX, int clipY, int clipWidth, int clipHeight) {
+        renderUIAfter(camera);
+    }
     default void renderComposite(OrthographicCamera camera, SpriteRenderer spriteRenderer, TextureRegion texture_game, TextureRegion texture_ui,
                                  int resolutionWidth, int resolutionHeight, boolean appGrayScale) {
         spriteRenderer.setProjectionMatrix(camera.combined);
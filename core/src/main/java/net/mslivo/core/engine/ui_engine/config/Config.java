@@ -14,6 +14,9 @@ public class Config implements Serializable, Cloneable {
     public boolean ui_keyInteractionsDisabled;
     public boolean ui_mouseInteractionsDisabled;
     public boolean ui_foldWindowsOnDoubleClick;
+    public boolean ui_retainedMode;
+    public boolean ui_dirtyRectangles;
+    public int ui_dirtyRectanglesMax;
     public float input_emulatedMouseCursorSpeed;
     public boolean input_hardwareMouseEnabled;
     public boolean input_keyboardMouseEnabled;
@@ -71,6 +74,9 @@ public class Config implements Serializable, Cloneable {
         ui_keyInteractionsDisabled = false;
         ui_mouseInteractionsDisabled = false;
         ui_foldWindowsOnDoubleClick = true;
+        ui_retainedMode = false;
+        ui_dirtyRectangles = false;
+        ui_dirtyRectanglesMax = 8;
         // ##### Input Default Values #####
         input_emulatedMouseCursorSpeed = 4.0f;
         input_hardwareMouseEnabled = true;
@@ -0,0 +1,91 @@
+package net.mslivo.core.engine.ui_engine.input;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Tile-grid bucket index of rectangles for hit testing.
+ * Every cell lists the entries overlapping it in the order they were added, so the add order doubles as hit priority.
+ */
+public class HitTestGrid {
+    private final int cellSize, columns, rows;
+    private final IntArray[] cells;
+    private Object[] objects;
+    private int[] rects; // x, y, width, height
+    private int size;
+
+    public HitTestGrid(int width, int height, int cellSize) {
+        this.cellSize = Math.max(cellSize, 1);
+        this.columns = Math.max((width + this.cellSize - 1) / this.cellSize, 1);
+        this.rows = Math.max((height + this.cellSize - 1) / this.cellSize, 1);
+        this.cells = new IntArray[columns * rows];
+        for (int i = 0; i < cells.length; i++) cells[i] = new IntArray(false, 4);
+        this.objects = new Object[16];
+        this.rects = new int[16 * 4];
+        this.size = 0;
+    }
+
+    public void add(Object object, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        if (size == objects.length) {
+            Object[] newObjects = new Object[size * 2];
+            int[] newRects = new int[size * 2 * 4];
+            System.arraycopy(objects, 0, newObjects, 0, size);
+            System.arraycopy(rects, 0, newRects, 0, size * 4);
+            objects = newObjects;
+            rects = newRects;
+        }
+        int entry = size;
+        objects[entry] = object;
+        rects[entry * 4] = x;
+        rects[entry * 4 + 1] = y;
+        rects[entry * 4 + 2] = width;
+        rects[entry * 4 + 3] = height;
+        size++;
+
+        int cx1 = Math.max(Math.floorDiv(x, cellSize), 0);
+        int cy1 = Math.max(Math.floorDiv(y, cellSize), 0);
+        int cx2 = Math.min(Math.floorDiv(x + width - 1, cellSize), columns - 1);
+        int cy2 = Math.min(Math.floorDiv(y + height - 1, cellSize), rows - 1);
+        for (int cy = cy1; cy <= cy2; cy++) {
+            for (int cx = cx1; cx <= cx2; cx++) {
+                cells[(cy * columns) + cx].add(entry);
+            }
+        }
+    }
+
+    /**
+     * @return cell index of the position or -1 if it is outside the grid
+     */
+    public int cellAt(int x, int y) {
+        if (x < 0 || y < 0) return -1;
+        int cx = x / cellSize;
+        int cy = y / cellSize;
+        if (cx >= columns || cy >= rows) return -1;
+        return (cy * columns) + cx;
+    }
+
+    public IntArray cellEntries(int cell) {
+        return cells[cell];
+    }
+
+    public Object object(int entry) {
+        return objects[entry];
+    }
+
+    public boolean contains(int entry, int x, int y) {
+        int index = entry * 4;
+        return x >= rects[index] && x < rects[index] + rects[index + 2] &&
+                y >= rects[index + 1] && y < rects[index + 1] + rects[index + 3];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) objects[i] = null;
+        for (int i = 0; i < cells.length; i++) cells[i].clear();
+        size = 0;
+    }
+
+}
@@ -10,6 +10,7 @@ import com.studiohartman.jamepad.ControllerAxis;
 
 public class UIEngineInputProcessor implements InputProcessor, ControllerListener {
     public static final int DOUBLE_CLICK_TIME = 180;
+    private static final ControllerAxis[] CONTROLLER_AXES = ControllerAxis.values();
     private final InputEvents inputEvents;
     private long lastClickTime;
     private final boolean gamePadSupport;
@@ -139,7 +140,7 @@ public class UIEngineInputProcessor implements InputProcessor, ControllerListene
     @Override
     public boolean axisMoved(Controller controller, int axis, float amount) {
         if (!gamePadSupport) return false;
-        ControllerAxis controllerAxis = axis < ControllerAxis.values().length ? ControllerAxis.values()[axis] : null;
+        ControllerAxis controllerAxis = axis < CONTROLLER_AXES.length ? CONTROLLER_AXES[axis] : null;
         if (controllerAxis != null) {
             switch (controllerAxis) {
                 case LEFTX -> {
@@ -1,5 +1,6 @@
 package net.mslivo.core.engine.ui_engine.render;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
@@ -14,6 +15,7 @@ public class ImmediateRenderer {
                 attribute vec4 a_vertexColor;
                 attribute vec4 a_color;
                 attribute vec4 a_tweak;
+                attribute float a_pointSize;
                 uniform mat4 u_projTrans;
                 varying vec4 v_vertexColor;
                 varying vec4 v_color;
@@ -29,7 +31,7 @@ public class ImmediateRenderer {
                    v_tweak = a_tweak;
                    v_tweak.a = v_tweak.a * (255.0/254.0);
                    
-                   gl_PointSize = 1.0;
+                   gl_PointSize = a_pointSize;
                    gl_Position = u_projTrans * a_position;
                 }
             """;
@@ -43,6 +45,10 @@ public class ImmediateRenderer {
                 varying LOWP vec4 v_vertexColor;
                 varying LOWP vec4 v_color;
                 varying LOWP vec4 v_tweak;
+                #ifdef POINT_SPRITE
+                uniform sampler2D u_texture;
+                uniform float u_textured;
+                #endif
                 const float eps = 1.0e-10;
                 
                 vec4 rgb2hsl(vec4 c)
@@ -73,16 +79,27 @@ public class ImmediateRenderer {
                    color = mix(color, (color*v_color), v_tweak.w); // mixed with tinted color based on tweak Tint
                    color.rgb = mix(vec3(dot(color.rgb, vec3(0.3333))), color.rgb,  (v_tweak.y*2.0));  // remove colors based on tweak.saturation
                    
+                   #ifdef POINT_SPRITE
+                   if (u_textured > 0.5) {
+                      color *= texture2D(u_texture, gl_PointCoord); // textured point
+                   } else {
+                      color.a *= 1.0 - smoothstep(0.5, 1.0, length(gl_PointCoord - vec2(0.5)) * 2.0); // soft round point
+                   }
+                   #endif
+                   
                    gl_FragColor = color;
                 }
             """;
 
     private static final String ERROR_END_BEGIN = "ImmediateRenderer.end must be called before begin.";
     private static final String ERROR_BEGIN_END = "ImmediateRenderer.begin must be called before end.";
+    private static final String POINT_SPRITE_DEFINE = "#define POINT_SPRITE\n";
+    private static final int GL_POINT_SPRITE = 0x8861;
     public static final String TWEAK_ATTRIBUTE = "a_tweak";
     public static final String COLOR_ATTRIBUTE = "a_color";
     public static final String VERTEX_COLOR_ATTRIBUTE = "a_vertexColor";
-    private static final int VERTEX_SIZE = 6;
+    public static final String POINT_SIZE_ATTRIBUTE = "a_pointSize";
+    private static final int VERTEX_SIZE = 7;
     private static final int MESH_SIZE_VERTICES = 5000 * VERTEX_SIZE;
     private static final int MESH_SIZE_INDICES = 0;
     private static final float TWEAK_RESET = Color.toFloatBits(0f, 0.5f, 0.5f, 1f);
@@ -100,22 +117,32 @@ public class ImmediateRenderer {
     private float vertices[];
     private int idx;
     private float tweak;
+    private float pointSize;
     private int blendSrcFunc;
     private int blendDstFunc;
     private int blendSrcFuncAlpha;
     private int blendDstFuncAlpha;
     private int u_projTrans;
     private boolean drawing;
+    private final boolean desktopGL;
+    private final ShaderProgram defaultShader;
+    private ShaderProgram pointSpriteShader;
+    private Texture pointSpriteTexture;
 
     public ImmediateRenderer() {
-        this.shader = new ShaderProgram(VERTEX, FRAGMENT);
-        if (!shader.isCompiled()) throw new GdxRuntimeException("Error compiling shader: " + shader.getLog());
+        this.defaultShader = compileShader(VERTEX, FRAGMENT);
+        this.shader = this.defaultShader;
+        this.pointSpriteShader = null;
+        this.pointSpriteTexture = null;
         this.u_projTrans = shader.getUniformLocation("u_projTrans");
+        // program point size & point sprite enums only exist on desktop GL, GLES2/WebGL always use gl_PointSize/gl_PointCoord
+        this.desktopGL = Gdx.app.getType() == Application.ApplicationType.Desktop;
         this.primitiveType = GL20.GL_POINTS;
         this.blendingDisabled = false;
         this.color = Color.toFloatBits(1f, 1f, 1f, 1f);
         this.vertexColor = Color.toFloatBits(1f, 1f, 1f, 1f);
         this.tweak = TWEAK_RESET;
+        this.pointSize = 1f;
         this.blendSrcFunc = GL20.GL_SRC_ALPHA;
         this.blendDstFunc = GL20.GL_ONE_MINUS_SRC_ALPHA;
         this.blendSrcFuncAlpha = GL20.GL_SRC_ALPHA;
@@ -147,12 +174,20 @@ public class ImmediateRenderer {
         this.renderCalls = 0;
         shader.bind();
         shader.setUniformMatrix(u_projTrans, this.projectionMatrix);
+        if (primitiveType == GL20.GL_POINTS && desktopGL) {
+            Gdx.gl.glEnable(GL20.GL_VERTEX_PROGRAM_POINT_SIZE);
+            if (Gdx.gl30 == null) Gdx.gl.glEnable(GL_POINT_SPRITE); // compatibility profile needs it for gl_PointCoord
+        }
         this.drawing = true;
     }
 
     public void end() {
         if (!drawing) throw new IllegalStateException(ERROR_BEGIN_END);
         if (idx > 0) flush();
+        if (primitiveType == GL20.GL_POINTS && desktopGL) {
+            Gdx.gl.glDisable(GL20.GL_VERTEX_PROGRAM_POINT_SIZE);
+            if (Gdx.gl30 == null) Gdx.gl.glDisable(GL_POINT_SPRITE);
+        }
         this.drawing = false;
         if (isBlendingEnabled()) Gdx.gl.glDisable(GL20.GL_BLEND);
     }
@@ -171,6 +206,12 @@ public class ImmediateRenderer {
                 Gdx.gl.glBlendFuncSeparate(blendSrcFunc, blendDstFunc, blendSrcFuncAlpha, blendDstFuncAlpha);
         }
 
+        if (shader == pointSpriteShader) {
+            if (pointSpriteTexture != null) pointSpriteTexture.bind(0);
+            shader.setUniformi("u_texture", 0);
+            shader.setUniformf("u_textured", pointSpriteTexture != null ? 1f : 0f);
+        }
+
         mesh.setVertices(vertices, 0, idx);
         mesh.render(shader, this.primitiveType);
         idx = 0;
@@ -178,6 +219,14 @@ public class ImmediateRenderer {
 
     public void dispose() {
         this.mesh.dispose();
+        this.defaultShader.dispose();
+        if (this.pointSpriteShader != null) this.pointSpriteShader.dispose();
+    }
+
+    private static ShaderProgram compileShader(String vertex, String fragment) {
+        ShaderProgram shaderProgram = new ShaderProgram(vertex, fragment);
+        if (!shaderProgram.isCompiled()) throw new GdxRuntimeException("Error compiling shader: " + shaderProgram.getLog());
+        return shaderProgram;
     }
 
     public void vertex(float x, float y, float z) {
@@ -189,6 +238,23 @@ public class ImmediateRenderer {
         vertices[idx + 3] = vertexColor;
         vertices[idx + 4] = color;
         vertices[idx + 5] = tweak;
+        vertices[idx + 6] = pointSize;
+        idx += VERTEX_SIZE;
+    }
+
+    /**
+     * Uses the given packed color and point size for this vertex only, without changing the renderer state.
+     */
+    public void vertex(float x, float y, float z, float packedColor, float pointSize) {
+        if (!drawing) throw new IllegalStateException("ImmediateRenderer.begin must be called before draw.");
+        checkMeshSize();
+        vertices[idx] = x;
+        vertices[idx + 1] = y;
+        vertices[idx + 2] = z;
+        vertices[idx + 3] = vertexColor;
+        vertices[idx + 4] = packedColor;
+        vertices[idx + 5] = tweak;
+        vertices[idx + 6] = pointSize;
         idx += VERTEX_SIZE;
     }
 
@@ -217,7 +283,8 @@ public class ImmediateRenderer {
                 new VertexAttribute(VertexAttributes.Usage.Position, 3, ShaderProgram.POSITION_ATTRIBUTE),
                 new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, VERTEX_COLOR_ATTRIBUTE),
                 new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, COLOR_ATTRIBUTE),
-                new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, TWEAK_ATTRIBUTE)
+                new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, TWEAK_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 1, POINT_SIZE_ATTRIBUTE)
         );
     }
 
@@ -272,6 +339,14 @@ public class ImmediateRenderer {
         this.color = Color.toFloatBits(r, g, b, a);
     }
 
+    public float getPointSize() {
+        return pointSize;
+    }
+
+    public void setPointSize(float pointSize) {
+        this.pointSize = pointSize;
+    }
+
     public float getHue() {
         int c = NumberUtils.floatToIntColor(tweak);
         float a = ((c & 0xff000000) >>> 24) / 255f;
@@ -402,4 +477,34 @@ public class ImmediateRenderer {
     public ShaderProgram getShader() {
         return this.shader;
     }
+
+    /**
+     * Switches to the built-in point sprite shader. Points drawn with GL_POINTS are rendered as soft round sprites
+     * of their point size, or textured with the point sprite texture if one is set. Disabling restores the default shader.
+     */
+    public void setPointSprites(boolean enabled) {
+        if (enabled) {
+            if (pointSpriteShader == null) pointSpriteShader = compileShader(VERTEX, POINT_SPRITE_DEFINE + FRAGMENT);
+            if (shader != pointSpriteShader) setShader(pointSpriteShader);
+        } else {
+            if (shader == pointSpriteShader) setShader(defaultShader);
+        }
+    }
+
+    public boolean isPointSprites() {
+        return pointSpriteShader != null && shader == pointSpriteShader;
+    }
+
+    /**
+     * Texture sampled over gl_PointCoord in point sprite mode, null for soft round points.
+     */
+    public void setPointSpriteTexture(Texture texture) {
+        if (this.pointSpriteTexture == texture) return;
+        if (drawing) flush();
+        this.pointSpriteTexture = texture;
+    }
+
+    public Texture getPointSpriteTexture() {
+        return pointSpriteTexture;
+    }
 }
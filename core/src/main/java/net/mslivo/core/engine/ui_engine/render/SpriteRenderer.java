@@ -13,6 +13,7 @@ import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.NumberUtils;
 import net.mslivo.core.engine.media_manager.MediaManager;
 import net.mslivo.core.engine.media_manager.media.*;
+import net.mslivo.core.engine.ui_engine.render.misc.TextLayoutCache;
 
 import java.nio.Buffer;
 
@@ -1440,8 +1441,17 @@ public class SpriteRenderer implements Batch {
     }
 
     public void drawCMediaFont(CMediaFont cMedia, float x, float y, String text, int maxWidth) {
+        drawCMediaFont(cMedia, x, y, text, 0, text.length(), maxWidth);
+    }
+
+    public void drawCMediaFont(CMediaFont cMedia, float x, float y, String text, int maxWidth, float alpha, TextLayoutCache textLayoutCache) {
+        BitmapFont bitmapFont = mediaManager.getCMediaFont(cMedia);
+        textLayoutCache.draw(this, bitmapFont, text, (x + cMedia.offset_x), (y + cMedia.offset_y), maxWidth, alpha);
+    }
+
+    public void drawCMediaFont(CMediaFont cMedia, float x, float y, String text, int start, int end, int maxWidth) {
         BitmapFont bitmapFont = mediaManager.getCMediaFont(cMedia);
-        bitmapFont.draw(this, text, (x + cMedia.offset_x), (y + cMedia.offset_y), 0, text.length(), maxWidth, Align.left, true, "");
+        bitmapFont.draw(this, text, (x + cMedia.offset_x), (y + cMedia.offset_y), start, end, maxWidth, Align.left, true, "");
     }
 
 
@@ -0,0 +1,150 @@
+package net.mslivo.core.engine.ui_engine.render.misc;
+
+/**
+ * Set of screen rectangles that need to be redrawn.
+ * Overlapping rectangles are merged on add, once more than maxRectangles remain they collapse into their bounding box.
+ */
+public class DirtyRectangles {
+    private final int boundsWidth, boundsHeight;
+    private int maxRectangles;
+    private int[] rectangles; // x, y, width, height
+    private int size;
+
+    public DirtyRectangles(int boundsWidth, int boundsHeight, int maxRectangles) {
+        this.boundsWidth = boundsWidth;
+        this.boundsHeight = boundsHeight;
+        this.maxRectangles = Math.max(maxRectangles, 1);
+        this.rectangles = new int[this.maxRectangles * 4 + 4];
+        this.size = 0;
+    }
+
+    public void add(int x, int y, int width, int height) {
+        // Clip to bounds
+        int x2 = Math.min(x + width, boundsWidth);
+        int y2 = Math.min(y + height, boundsHeight);
+        x = Math.max(x, 0);
+        y = Math.max(y, 0);
+        if (x2 <= x || y2 <= y) return;
+
+        // Merge with overlapping rectangles until nothing overlaps anymore
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < size; i++) {
+                int index = i * 4;
+                int rx = rectangles[index], ry = rectangles[index + 1];
+                int rx2 = rx + rectangles[index + 2], ry2 = ry + rectangles[index + 3];
+                if (x <= rx2 && rx <= x2 && y <= ry2 && ry <= y2) {
+                    x = Math.min(x, rx);
+                    y = Math.min(y, ry);
+                    x2 = Math.max(x2, rx2);
+                    y2 = Math.max(y2, ry2);
+                    removeIndex(i);
+                    merged = true;
+                    break;
+                }
+            }
+        }
+
+        int index = size * 4;
+        rectangles[index] = x;
+        rectangles[index + 1] = y;
+        rectangles[index + 2] = x2 - x;
+        rectangles[index + 3] = y2 - y;
+        size++;
+
+        if (size > maxRectangles) collapse();
+    }
+
+    public void addAll() {
+        clear();
+        add(0, 0, boundsWidth, boundsHeight);
+    }
+
+    public boolean intersects(int x, int y, int width, int height) {
+        for (int i = 0; i < size; i++) {
+            int index = i * 4;
+            if (x < rectangles[index] + rectangles[index + 2] && rectangles[index] < x + width &&
+                    y < rectangles[index + 1] + rectangles[index + 3] && rectangles[index + 1] < y + height) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public float coverage() {
+        long area = 0;
+        for (int i = 0; i < size; i++) area += (long) rectangles[i * 4 + 2] * rectangles[i * 4 + 3];
+        return area / (float) ((long) boundsWidth * boundsHeight);
+    }
+
+    public void collapse() {
+        if (size <= 1) return;
+        int x = Integer.MAX_VALUE, y = Integer.MAX_VALUE, x2 = Integer.MIN_VALUE, y2 = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            int index = i * 4;
+            x = Math.min(x, rectangles[index]);
+            y = Math.min(y, rectangles[index + 1]);
+            x2 = Math.max(x2, rectangles[index] + rectangles[index + 2]);
+            y2 = Math.max(y2, rectangles[index + 1] + rectangles[index + 3]);
+        }
+        rectangles[0] = x;
+        rectangles[1] = y;
+        rectangles[2] = x2 - x;
+        rectangles[3] = y2 - y;
+        size = 1;
+    }
+
+    private void removeIndex(int i) {
+        int last = (size - 1) * 4;
+        int index = i * 4;
+        rectangles[index] = rectangles[last];
+        rectangles[index + 1] = rectangles[last + 1];
+        rectangles[index + 2] = rectangles[last + 2];
+        rectangles[index + 3] = rectangles[last + 3];
+        size--;
+    }
+
+    public void setMaxRectangles(int maxRectangles) {
+        this.maxRectangles = Math.max(maxRectangles, 1);
+        if (rectangles.length < this.maxRectangles * 4 + 4) {
+            int[] newRectangles = new int[this.maxRectangles * 4 + 4];
+            System.arraycopy(rectangles, 0, newRectangles, 0, size * 4);
+            rectangles = newRectangles;
+        }
+        if (size > this.maxRectangles) collapse();
+    }
+
+    public int getMaxRectangles() {
+        return maxRectangles;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int x(int i) {
+        return rectangles[i * 4];
+    }
+
+    public int y(int i) {
+        return rectangles[i * 4 + 1];
+    }
+
+    public int width(int i) {
+        return rectangles[i * 4 + 2];
+    }
+
+    public int height(int i) {
+        return rectangles[i * 4 + 3];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+}
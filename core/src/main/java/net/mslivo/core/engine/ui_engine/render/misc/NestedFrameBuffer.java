@@ -15,7 +15,7 @@ import java.nio.IntBuffer;
  */
 public class NestedFrameBuffer extends FrameBuffer {
     private int previousFBOHandle = -1;
-    private int[] previousViewport = new int[4];
+    private final int[] previousViewport = new int[4];
     private boolean isBound = false;
     private static final IntBuffer INT_BUFF = ByteBuffer
             .allocateDirect(16 * Integer.BYTES).order(ByteOrder.nativeOrder())
@@ -29,12 +29,14 @@ public class NestedFrameBuffer extends FrameBuffer {
         return intBuf.get(0);
     }
 
-    private int[] getViewport() {
+    private void getViewport(int[] viewport) {
         IntBuffer intBuf = INT_BUFF;
         Gdx.gl.glGetIntegerv(GL20.GL_VIEWPORT, intBuf);
 
-        return new int[]{intBuf.get(0), intBuf.get(1), intBuf.get(2),
-                intBuf.get(3)};
+        viewport[0] = intBuf.get(0);
+        viewport[1] = intBuf.get(1);
+        viewport[2] = intBuf.get(2);
+        viewport[3] = intBuf.get(3);
     }
 
     public NestedFrameBuffer(Pixmap.Format format, int width, int height,
@@ -61,7 +63,7 @@ public class NestedFrameBuffer extends FrameBuffer {
         previousFBOHandle = getBoundFboHandle();
         bind();
 
-        previousViewport = getViewport();
+        getViewport(previousViewport);
         setFrameBufferViewport();
     }
 
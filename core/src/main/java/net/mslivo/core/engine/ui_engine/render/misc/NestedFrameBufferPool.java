@@ -0,0 +1,73 @@
+package net.mslivo.core.engine.ui_engine.render.misc;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Pool of NestedFrameBuffers keyed by size.
+ * Freed FrameBuffers are kept and handed out again for the same width/height instead of being rebuilt.
+ */
+public class NestedFrameBufferPool implements Disposable {
+    private final Pixmap.Format format;
+    private final int maxFreePerSize;
+    private final LongMap<Array<NestedFrameBuffer>> freeFrameBuffers;
+
+    public NestedFrameBufferPool(Pixmap.Format format) {
+        this(format, 4);
+    }
+
+    public NestedFrameBufferPool(Pixmap.Format format, int maxFreePerSize) {
+        this.format = format;
+        this.maxFreePerSize = Math.max(maxFreePerSize, 0);
+        this.freeFrameBuffers = new LongMap<>();
+    }
+
+    public NestedFrameBuffer obtain(int width, int height) {
+        Array<NestedFrameBuffer> free = freeFrameBuffers.get(sizeKey(width, height));
+        if (free != null && free.size > 0) return free.pop();
+        NestedFrameBuffer frameBuffer = new NestedFrameBuffer(format, width, height, false);
+        frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        return frameBuffer;
+    }
+
+    public void free(NestedFrameBuffer frameBuffer) {
+        if (frameBuffer == null) return;
+        long key = sizeKey(frameBuffer.getWidth(), frameBuffer.getHeight());
+        Array<NestedFrameBuffer> free = freeFrameBuffers.get(key);
+        if (free == null) {
+            free = new Array<>(false, maxFreePerSize);
+            freeFrameBuffers.put(key, free);
+        }
+        if (free.size < maxFreePerSize) {
+            free.add(frameBuffer);
+        } else {
+            frameBuffer.dispose();
+        }
+    }
+
+    public int getFreeCount() {
+        int count = 0;
+        for (LongMap.Entry<Array<NestedFrameBuffer>> entry : freeFrameBuffers.entries()) count += entry.value.size;
+        return count;
+    }
+
+    public void clear() {
+        for (LongMap.Entry<Array<NestedFrameBuffer>> entry : freeFrameBuffers.entries()) {
+            for (int i = 0; i < entry.value.size; i++) entry.value.get(i).dispose();
+        }
+        freeFrameBuffers.clear();
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+    }
+
+    private static long sizeKey(int width, int height) {
+        return (((long) width) << 32) | (height & 0xFFFFFFFFL);
+    }
+
+}
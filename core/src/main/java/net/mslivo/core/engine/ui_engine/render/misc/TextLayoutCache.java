@@ -0,0 +1,46 @@
+package net.mslivo.core.engine.ui_engine.render.misc;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.utils.Align;
+
+/**
+ * Laid out glyphs of a single label.
+ * Glyph layout is only redone when text, font or maxWidth change, alpha and position are applied to the cached vertices.
+ */
+public class TextLayoutCache {
+    private BitmapFontCache fontCache;
+    private String text;
+    private int maxWidth;
+    private float alpha;
+
+    /**
+     * @param maxWidth wrap width, negative values disable wrapping
+     */
+    public void draw(Batch batch, BitmapFont bitmapFont, String text, float x, float y, int maxWidth, float alpha) {
+        if (fontCache == null || fontCache.getFont() != bitmapFont) {
+            fontCache = bitmapFont.newFontCache();
+            this.text = null;
+        }
+        if (this.text == null || this.maxWidth != maxWidth || !this.text.equals(text)) {
+            fontCache.clear();
+            fontCache.setColor(1f, 1f, 1f, 1f);
+            if (maxWidth < 0) {
+                fontCache.addText(text, 0, 0);
+            } else {
+                fontCache.addText(text, 0, 0, 0, text.length(), maxWidth, Align.left, true, "");
+            }
+            this.text = text;
+            this.maxWidth = maxWidth;
+            this.alpha = 1f;
+        }
+        if (this.alpha != alpha) {
+            fontCache.setAlphas(alpha);
+            this.alpha = alpha;
+        }
+        fontCache.setPosition(x, y);
+        fontCache.draw(batch);
+    }
+
+}
@@ -1,5 +1,7 @@
 package net.mslivo.core.engine.ui_engine.ui;
 
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import net.mslivo.core.engine.ui_engine.render.misc.NestedFrameBuffer;
 import net.mslivo.core.engine.ui_engine.ui.actions.MessageReceiverAction;
 import net.mslivo.core.engine.ui_engine.ui.actions.UpdateAction;
 import net.mslivo.core.engine.ui_engine.ui.actions.WindowAction;
@@ -32,4 +34,8 @@ public class Window {
     public int iconIndex;
     public ArrayList<MessageReceiverAction> messageReceiverActions;
     public boolean addedToScreen;
+    public boolean cacheLayer;
+    public NestedFrameBuffer layerFrameBuffer; // set by engine
+    public TextureRegion layerTexture; // set by engine
+    public boolean layerDirty, layerAnimated, layerGrayScale; // set by engine
 }
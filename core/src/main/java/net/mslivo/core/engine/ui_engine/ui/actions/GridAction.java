@@ -23,6 +23,9 @@ public abstract class GridAction<T> extends CommonActions {
     public void onItemSelected(T listItem) {
     }
 
+    public void onScrolled(int scrollX, int scrollY) {
+    }
+
     public void onDragFromGrid(Grid fromGrid, int from_x, int from_y, int to_x, int to_y) {
     }
 
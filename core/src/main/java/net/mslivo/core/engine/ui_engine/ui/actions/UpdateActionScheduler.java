@@ -0,0 +1,124 @@
+package net.mslivo.core.engine.ui_engine.ui.actions;
+
+/**
+ * Binary min-heap of UpdateActions keyed by their next due time.
+ * Every entry carries an owner object which is handed back when the action is polled.
+ */
+public class UpdateActionScheduler {
+    private long[] dueTimes;
+    private UpdateAction[] actions;
+    private Object[] owners;
+    private int size;
+
+    public UpdateActionScheduler() {
+        this.dueTimes = new long[16];
+        this.actions = new UpdateAction[16];
+        this.owners = new Object[16];
+        this.size = 0;
+    }
+
+    /**
+     * Schedules the action for the first time it satisfies (currentTimeMillis - lastUpdate) > interval
+     */
+    public void add(UpdateAction updateAction, Object owner) {
+        add(updateAction, owner, dueTime(updateAction));
+    }
+
+    private void add(UpdateAction updateAction, Object owner, long dueTime) {
+        if (size == actions.length) {
+            int newLength = size * 2;
+            long[] newDueTimes = new long[newLength];
+            UpdateAction[] newActions = new UpdateAction[newLength];
+            Object[] newOwners = new Object[newLength];
+            System.arraycopy(dueTimes, 0, newDueTimes, 0, size);
+            System.arraycopy(actions, 0, newActions, 0, size);
+            System.arraycopy(owners, 0, newOwners, 0, size);
+            dueTimes = newDueTimes;
+            actions = newActions;
+            owners = newOwners;
+        }
+        int index = size;
+        size++;
+        set(index, dueTime, updateAction, owner);
+        siftUp(index);
+    }
+
+    public boolean isDue(long currentTimeMillis) {
+        return size > 0 && dueTimes[0] <= currentTimeMillis;
+    }
+
+    public UpdateAction peekAction() {
+        return size > 0 ? actions[0] : null;
+    }
+
+    public Object peekOwner() {
+        return size > 0 ? owners[0] : null;
+    }
+
+    public void poll() {
+        if (size == 0) return;
+        size--;
+        if (size > 0) {
+            set(0, dueTimes[size], actions[size], owners[size]);
+            siftDown(0);
+        }
+        actions[size] = null;
+        owners[size] = null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            actions[i] = null;
+            owners[i] = null;
+        }
+        size = 0;
+    }
+
+    private static long dueTime(UpdateAction updateAction) {
+        return updateAction.lastUpdate + Math.max(updateAction.interval, 0) + 1;
+    }
+
+    private void set(int index, long dueTime, UpdateAction updateAction, Object owner) {
+        dueTimes[index] = dueTime;
+        actions[index] = updateAction;
+        owners[index] = owner;
+    }
+
+    private void siftUp(int index) {
+        long dueTime = dueTimes[index];
+        UpdateAction updateAction = actions[index];
+        Object owner = owners[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (dueTimes[parent] <= dueTime) break;
+            set(index, dueTimes[parent], actions[parent], owners[parent]);
+            index = parent;
+        }
+        set(index, dueTime, updateAction, owner);
+    }
+
+    private void siftDown(int index) {
+        long dueTime = dueTimes[index];
+        UpdateAction updateAction = actions[index];
+        Object owner = owners[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index * 2) + 1;
+            int right = child + 1;
+            if (right < size && dueTimes[right] < dueTimes[child]) child = right;
+            if (dueTime <= dueTimes[child]) break;
+            set(index, dueTimes[child], actions[child], owners[child]);
+            index = child;
+        }
+        set(index, dueTime, updateAction, owner);
+    }
+
+}
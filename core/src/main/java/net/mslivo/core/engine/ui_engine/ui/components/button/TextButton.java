@@ -2,10 +2,12 @@ package net.mslivo.core.engine.ui_engine.ui.components.button;
 
 import net.mslivo.core.engine.media_manager.media.CMediaFont;
 import net.mslivo.core.engine.media_manager.media.CMediaSprite;
+import net.mslivo.core.engine.ui_engine.render.misc.TextLayoutCache;
 
 public class TextButton extends Button {
     public String text;
     public CMediaFont font;
     public CMediaSprite icon;
     public int iconIndex;
+    public TextLayoutCache textLayoutCache;
 }
@@ -1,5 +1,6 @@
 package net.mslivo.core.engine.ui_engine.ui.components.combobox;
 
+import net.mslivo.core.engine.ui_engine.render.misc.TextLayoutCache;
 import net.mslivo.core.engine.ui_engine.ui.actions.ComboBoxAction;
 import net.mslivo.core.engine.ui_engine.ui.components.Component;
 
@@ -10,4 +11,5 @@ public class ComboBox extends Component {
     public ComboBoxAction comboBoxAction;
     public ComboBoxItem selectedItem;
     public boolean useIcons;
+    public TextLayoutCache textLayoutCache; // selected item
 }
@@ -2,6 +2,7 @@ package net.mslivo.core.engine.ui_engine.ui.components.combobox;
 
 import net.mslivo.core.engine.media_manager.media.CMediaFont;
 import net.mslivo.core.engine.media_manager.media.CMediaSprite;
+import net.mslivo.core.engine.ui_engine.render.misc.TextLayoutCache;
 import net.mslivo.core.engine.ui_engine.ui.actions.ComboBoxItemAction;
 
 public class ComboBoxItem {
@@ -14,4 +15,5 @@ public class ComboBoxItem {
     public ComboBox addedToComboBox;
     public String name;
     public Object data;
+    public TextLayoutCache textLayoutCache;
 }
@@ -11,4 +11,6 @@ public class Grid<T> extends Component {
     public boolean dragOutEnabled;
     public boolean dragInEnabled;
     public boolean doubleSized;
+    public int viewportWidth, viewportHeight; // visible cells, 0 = all
+    public int scrollX, scrollY;
 }
@@ -18,4 +18,6 @@ public class List<T> extends Component {
     public boolean dragEnabled;
     public boolean dragOutEnabled;
     public boolean dragInEnabled;
+    public ListRowCache rowCache; // null = disabled
+    public int rowCacheVersion;
 }
@@ -0,0 +1,16 @@
+package net.mslivo.core.engine.ui_engine.ui.components.list;
+
+import com.badlogic.gdx.graphics.Color;
+import net.mslivo.core.engine.media_manager.media.CMediaSprite;
+
+public class ListRowCache {
+    public int itemFrom;
+    public int version;
+    public Object[] items;
+    public boolean[] valid;
+    public String[] texts;
+    public Color[] cellColors;
+    public CMediaSprite[] icons;
+    public int[] iconIndexes;
+    public boolean[] selected;
+}
@@ -1,6 +1,7 @@
 package net.mslivo.core.engine.ui_engine.ui.components.text;
 
 import net.mslivo.core.engine.media_manager.media.CMediaFont;
+import net.mslivo.core.engine.ui_engine.render.misc.TextLayoutCache;
 import net.mslivo.core.engine.ui_engine.ui.actions.TextAction;
 import net.mslivo.core.engine.ui_engine.ui.components.Component;
 
@@ -8,4 +9,5 @@ public class Text extends Component {
     public String[] lines;
     public CMediaFont font;
     public TextAction textAction;
+    public TextLayoutCache[] textLayoutCaches; // per line
 }
@@ -14,4 +14,8 @@ public class TextField extends Component {
     public IntSet allowedCharacters;
     public int markerPosition;
     public boolean contentValid;
+    public int[] prefixWidths; // width of content[prefixWidthsFrom, prefixWidthsFrom + i], -1 = not measured
+    public int prefixWidthsFrom;
+    public String prefixWidthsContent;
+    public CMediaFont prefixWidthsFont;
 }